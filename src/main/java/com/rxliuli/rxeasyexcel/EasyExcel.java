@@ -2,12 +2,18 @@ package com.rxliuli.rxeasyexcel;
 
 
 import com.rxliuli.rxeasyexcel.domain.ExcelType;
+import com.rxliuli.rxeasyexcel.domain.ExcelWritePolicy;
 import com.rxliuli.rxeasyexcel.read.DefaultExcelReader;
 import com.rxliuli.rxeasyexcel.read.ExcelReader;
+import com.rxliuli.rxeasyexcel.read.XlsStreamExcelReader;
+import com.rxliuli.rxeasyexcel.read.XlsxStreamExcelReader;
 import com.rxliuli.rxeasyexcel.write.DefaultExcelWriter;
 import com.rxliuli.rxeasyexcel.write.ExcelWriter;
+import com.rxliuli.rxeasyexcel.write.SpreadsheetMLExcelWriter;
+import org.apache.poi.poifs.filesystem.FileMagic;
 
 import java.io.*;
+import java.nio.file.Path;
 
 /**
  * 整个操作的入口类
@@ -55,6 +61,17 @@ public class EasyExcel {
         return new DefaultExcelWriter(type, outputStream);
     }
 
+    /**
+     * 导出,并写到对应的输出流中
+     *
+     * @param outputStream 输出流
+     * @param policy       xlsx 流式写入的策略
+     * @return ExcelWriter
+     */
+    public static ExcelWriter export(ExcelType type, OutputStream outputStream, ExcelWritePolicy policy) {
+        return new DefaultExcelWriter(type, outputStream, policy);
+    }
+
     /**
      * 导出XLSX,并写到对应的输出流中
      *
@@ -65,6 +82,17 @@ public class EasyExcel {
         return new DefaultExcelWriter(ExcelType.XLSX, outputStream);
     }
 
+    /**
+     * 以流的方式导出 xlsx，直接输出 SpreadsheetML 而不经过 POI 的 Workbook 对象，适合数据量很大的普通数据导出
+     * 注: 表头提示与错误消息以选中单元格时的输入信息显示，不支持 createSheetHook
+     *
+     * @param outputStream 输出流
+     * @return ExcelWriter
+     */
+    public static ExcelWriter streamExport(OutputStream outputStream) {
+        return new SpreadsheetMLExcelWriter(outputStream);
+    }
+
     /**
      * 从输入流中读取对应的文件
      *
@@ -82,12 +110,103 @@ public class EasyExcel {
      * @return 读取服务
      */
     public static ExcelReader read(String fullFilePath) {
-        FileInputStream inputStream;
+        return read(new File(fullFilePath));
+    }
+
+    /**
+     * 直接以只读的方式打开文件，不需要先将整个文件读到内存中
+     *
+     * @param file 文件
+     * @return 读取服务
+     */
+    public static ExcelReader read(File file) {
+        checkFileExists(file);
+        return new DefaultExcelReader(file);
+    }
+
+    /**
+     * 直接以只读的方式打开文件，不需要先将整个文件读到内存中
+     *
+     * @param path 文件路径
+     * @return 读取服务
+     */
+    public static ExcelReader read(Path path) {
+        return read(path.toFile());
+    }
+
+    /**
+     * 从输入流中以流式（事件模型）的方式读取 excel 文件，根据文件头自动区分 xls 与 xlsx
+     * 内存占用与行数基本无关，适合大文件的导入
+     *
+     * @param inputStream 输入流
+     * @return 读取服务
+     */
+    public static ExcelReader streamRead(InputStream inputStream) {
+        final InputStream is = FileMagic.prepareToCheckMagic(inputStream);
+        final FileMagic fileMagic;
         try {
-            inputStream = new FileInputStream(fullFilePath);
-        } catch (FileNotFoundException e) {
+            fileMagic = FileMagic.valueOf(is);
+        } catch (IOException e) {
             throw new ExcelException(e);
         }
-        return new DefaultExcelReader(inputStream);
+        switch (fileMagic) {
+            case OLE2:
+                return new XlsStreamExcelReader(is);
+            case OOXML:
+                return new XlsxStreamExcelReader(is);
+            default:
+                throw new ExcelException("不支持的文件格式: " + fileMagic);
+        }
+    }
+
+    /**
+     * 从文件路径中以流式（事件模型）的方式读取 excel 文件，根据文件头自动区分 xls 与 xlsx
+     *
+     * @param fullFilePath 文件全路径名
+     * @return 读取服务
+     */
+    public static ExcelReader streamRead(String fullFilePath) {
+        return streamRead(new File(fullFilePath));
+    }
+
+    /**
+     * 以流式（事件模型）的方式读取 excel 文件，根据文件头自动区分 xls 与 xlsx
+     * 文件会以只读的方式直接打开，不需要先将整个文件读到内存中
+     *
+     * @param file 文件
+     * @return 读取服务
+     */
+    public static ExcelReader streamRead(File file) {
+        checkFileExists(file);
+        final FileMagic fileMagic;
+        try (InputStream is = FileMagic.prepareToCheckMagic(new FileInputStream(file))) {
+            fileMagic = FileMagic.valueOf(is);
+        } catch (IOException e) {
+            throw new ExcelException(e);
+        }
+        switch (fileMagic) {
+            case OLE2:
+                return new XlsStreamExcelReader(file);
+            case OOXML:
+                return new XlsxStreamExcelReader(file);
+            default:
+                throw new ExcelException("不支持的文件格式: " + fileMagic);
+        }
+    }
+
+    /**
+     * 以流式（事件模型）的方式读取 excel 文件，根据文件头自动区分 xls 与 xlsx
+     *
+     * @param path 文件路径
+     * @return 读取服务
+     */
+    public static ExcelReader streamRead(Path path) {
+        return streamRead(path.toFile());
+    }
+
+    private static void checkFileExists(File file) {
+        if (!file.isFile()) {
+            throw new ExcelException(new FileNotFoundException(file.getPath()));
+        }
     }
 }
@@ -8,6 +8,7 @@ import com.rxliuli.rxeasyexcel.domain.customize.DefaultCustomizeMap;
 import com.rxliuli.rxeasyexcel.domain.select.DefaultSelectMap;
 import com.rxliuli.rxeasyexcel.domain.select.ExcelColumnType;
 import com.rxliuli.rxeasyexcel.domain.select.ISelectMap;
+import org.apache.poi.ss.usermodel.IndexedColors;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -81,6 +82,16 @@ public @interface ExcelField {
      */
     int maxLength() default 500;
 
+    /**
+     * 写入时数据单元格的数据格式，例如 {@code 0.00}，默认为 ""（不设置）
+     */
+    String dataFormat() default "";
+
+    /**
+     * 写入时数据单元格的填充颜色，默认为 {@link IndexedColors#AUTOMATIC}（不设置）
+     */
+    IndexedColors fillColor() default IndexedColors.AUTOMATIC;
+
     /**
      * 自定义属性
      */
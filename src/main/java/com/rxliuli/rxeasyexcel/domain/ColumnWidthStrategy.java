@@ -0,0 +1,22 @@
+package com.rxliuli.rxeasyexcel.domain;
+
+/**
+ * 导出时列宽的计算方式
+ *
+ * @author rxliuli
+ */
+public enum ColumnWidthStrategy {
+    /**
+     * 根据表头以及前若干行（默认 100 行）写入内容的字符数估算列宽，不需要加载字体，默认值
+     */
+    ESTIMATE,
+    /**
+     * 使用 {@link org.apache.poi.ss.usermodel.Sheet#autoSizeColumn(int)} 根据表头计算列宽
+     * 注: 依赖 AWT 的字体渲染，速度较慢，无头环境中需要安装字体
+     */
+    AUTO_SIZE,
+    /**
+     * 不设置列宽，使用 Excel 的默认列宽
+     */
+    NONE,
+}
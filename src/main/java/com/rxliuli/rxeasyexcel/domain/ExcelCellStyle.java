@@ -0,0 +1,148 @@
+package com.rxliuli.rxeasyexcel.domain;
+
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+
+import java.util.Objects;
+
+/**
+ * 单元格样式的描述，不可变
+ * 写入时相同描述的样式在同一个工作簿中只会创建一次，为 {@code null} 的属性表示不设置
+ *
+ * @author rxliuli
+ */
+public final class ExcelCellStyle {
+    private static final ExcelCellStyle EMPTY = new ExcelCellStyle(null, null, null, null, null);
+    /**
+     * 表头样式
+     */
+    public static final ExcelCellStyle HEADER = EMPTY
+            .fillPattern(FillPatternType.SOLID_FOREGROUND)
+            .fillForegroundColor(IndexedColors.GREY_25_PERCENT)
+            .bold(true);
+    /**
+     * 错误单元格的样式
+     */
+    public static final ExcelCellStyle ERROR = EMPTY
+            .fillPattern(FillPatternType.BIG_SPOTS)
+            .fillForegroundColor(IndexedColors.RED1)
+            .fillBackgroundColor(IndexedColors.RED1);
+
+    /**
+     * 数据格式，例如 {@code 0.00}、{@code yyyy-MM-dd}
+     */
+    private final String dataFormat;
+    private final IndexedColors fillForegroundColor;
+    private final IndexedColors fillBackgroundColor;
+    private final FillPatternType fillPattern;
+    /**
+     * 字体是否加粗
+     */
+    private final Boolean bold;
+
+    private ExcelCellStyle(String dataFormat, IndexedColors fillForegroundColor, IndexedColors fillBackgroundColor, FillPatternType fillPattern, Boolean bold) {
+        this.dataFormat = dataFormat;
+        this.fillForegroundColor = fillForegroundColor;
+        this.fillBackgroundColor = fillBackgroundColor;
+        this.fillPattern = fillPattern;
+        this.bold = bold;
+    }
+
+    /**
+     * @return 没有设置任何属性的样式
+     */
+    public static ExcelCellStyle of() {
+        return EMPTY;
+    }
+
+    public ExcelCellStyle dataFormat(String dataFormat) {
+        return new ExcelCellStyle(dataFormat, fillForegroundColor, fillBackgroundColor, fillPattern, bold);
+    }
+
+    public ExcelCellStyle fillForegroundColor(IndexedColors fillForegroundColor) {
+        return new ExcelCellStyle(dataFormat, fillForegroundColor, fillBackgroundColor, fillPattern, bold);
+    }
+
+    public ExcelCellStyle fillBackgroundColor(IndexedColors fillBackgroundColor) {
+        return new ExcelCellStyle(dataFormat, fillForegroundColor, fillBackgroundColor, fillPattern, bold);
+    }
+
+    public ExcelCellStyle fillPattern(FillPatternType fillPattern) {
+        return new ExcelCellStyle(dataFormat, fillForegroundColor, fillBackgroundColor, fillPattern, bold);
+    }
+
+    public ExcelCellStyle bold(boolean bold) {
+        return new ExcelCellStyle(dataFormat, fillForegroundColor, fillBackgroundColor, fillPattern, bold);
+    }
+
+    /**
+     * 合并另一个样式，other 中设置了的属性会覆盖当前样式中的属性
+     *
+     * @param other 另一个样式，可以为 {@code null}
+     * @return 合并后的样式
+     */
+    public ExcelCellStyle merge(ExcelCellStyle other) {
+        if (other == null) {
+            return this;
+        }
+        return new ExcelCellStyle(
+                other.dataFormat != null ? other.dataFormat : dataFormat,
+                other.fillForegroundColor != null ? other.fillForegroundColor : fillForegroundColor,
+                other.fillBackgroundColor != null ? other.fillBackgroundColor : fillBackgroundColor,
+                other.fillPattern != null ? other.fillPattern : fillPattern,
+                other.bold != null ? other.bold : bold
+        );
+    }
+
+    public String getDataFormat() {
+        return dataFormat;
+    }
+
+    public IndexedColors getFillForegroundColor() {
+        return fillForegroundColor;
+    }
+
+    public IndexedColors getFillBackgroundColor() {
+        return fillBackgroundColor;
+    }
+
+    public FillPatternType getFillPattern() {
+        return fillPattern;
+    }
+
+    public Boolean getBold() {
+        return bold;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ExcelCellStyle that = (ExcelCellStyle) o;
+        return Objects.equals(dataFormat, that.dataFormat) &&
+                fillForegroundColor == that.fillForegroundColor &&
+                fillBackgroundColor == that.fillBackgroundColor &&
+                fillPattern == that.fillPattern &&
+                Objects.equals(bold, that.bold);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dataFormat, fillForegroundColor, fillBackgroundColor, fillPattern, bold);
+    }
+
+    @Override
+    public String toString() {
+        return "ExcelCellStyle{" +
+                "dataFormat='" + dataFormat + '\'' +
+                ", fillForegroundColor=" + fillForegroundColor +
+                ", fillBackgroundColor=" + fillBackgroundColor +
+                ", fillPattern=" + fillPattern +
+                ", bold=" + bold +
+                '}';
+    }
+}
@@ -1,9 +1,11 @@
 package com.rxliuli.rxeasyexcel.domain;
 
+import com.rxliuli.rxeasyexcel.domain.convert.ConverterRegistry;
 import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
 import org.apache.poi.ss.usermodel.Sheet;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 
 /**
@@ -37,6 +39,18 @@ public class ExcelReadContext<T> {
      * 表头与类属性之间的映射
      */
     private Map<String, ExcelReadHeader> headers;
+    /**
+     * 并发转换行时使用的线程池，为 {@code null} 时在当前线程中逐行转换
+     */
+    private Executor parallelExecutor;
+    /**
+     * 并发转换时每个任务转换的行数
+     */
+    private int parallelChunkSize = 1000;
+    /**
+     * 查找转换器的注册表
+     */
+    private ConverterRegistry converterRegistry = ConverterRegistry.global();
 
     public static <T> ExcelReadContextBuilder<T> builder() {
         return new ExcelReadContextBuilder<>(new ExcelReadContext<>());
@@ -95,7 +109,34 @@ public class ExcelReadContext<T> {
 
     ExcelReadContext<T> setHeaders(Class<T> clazz) {
         // 使用默认Header转换器
-        this.headers = ExcelBeanHelper.beanToReaderHeaders(clazz);
+        this.headers = ExcelBeanHelper.beanToReaderHeaders(clazz, converterRegistry);
+        return this;
+    }
+
+    public Executor getParallelExecutor() {
+        return parallelExecutor;
+    }
+
+    ExcelReadContext<T> setParallelExecutor(Executor parallelExecutor) {
+        this.parallelExecutor = parallelExecutor;
+        return this;
+    }
+
+    public int getParallelChunkSize() {
+        return parallelChunkSize;
+    }
+
+    ExcelReadContext<T> setParallelChunkSize(int parallelChunkSize) {
+        this.parallelChunkSize = parallelChunkSize;
+        return this;
+    }
+
+    public ConverterRegistry getConverterRegistry() {
+        return converterRegistry;
+    }
+
+    ExcelReadContext<T> setConverterRegistry(ConverterRegistry converterRegistry) {
+        this.converterRegistry = converterRegistry;
         return this;
     }
 }
@@ -1,9 +1,11 @@
 package com.rxliuli.rxeasyexcel.domain;
 
+import com.rxliuli.rxeasyexcel.domain.convert.ConverterRegistry;
 import com.rxliuli.rxeasyexcel.internal.util.Assert;
 import org.apache.poi.ss.usermodel.Sheet;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 
 /**
@@ -15,6 +17,10 @@ import java.util.function.BiConsumer;
 public class ExcelReadContextBuilder<T> {
 
     private ExcelReadContext<T> context;
+    /**
+     * header 是否根据实体类确定
+     */
+    private boolean headersFromClazz = false;
 
 
     public ExcelReadContextBuilder(ExcelReadContext<T> context) {
@@ -30,8 +36,9 @@ public class ExcelReadContextBuilder<T> {
     public ExcelReadContextBuilder<T> clazz(Class<T> clazz) {
         context.setClazz(clazz);
         // 此时header可以确定
-        if (null == this.context.getHeaders()) {
+        if (null == this.context.getHeaders() || headersFromClazz) {
             this.context.setHeaders(clazz);
+            this.headersFromClazz = true;
         }
         return this;
     }
@@ -59,9 +66,50 @@ public class ExcelReadContextBuilder<T> {
      */
     public ExcelReadContextBuilder<T> headers(Map<String, ExcelReadHeader> headers) {
         this.context.setHeaders(headers);
+        this.headersFromClazz = false;
+        return this;
+    }
+
+    /**
+     * 指定查找转换器的注册表，已经根据实体类确定的 header 会使用该注册表重新确定
+     *
+     * @param converters 注册表，默认为 {@link ConverterRegistry#global()}
+     * @return this
+     */
+    public ExcelReadContextBuilder<T> converters(ConverterRegistry converters) {
+        Assert.notNull(converters, "converters can't be null");
+        this.context.setConverterRegistry(converters);
+        if (headersFromClazz) {
+            this.context.setHeaders(this.context.getClazz());
+        }
         return this;
     }
 
+    /**
+     * 在 executor 中并发地将行转换为实体，结果与错误的顺序与逐行转换时一致
+     * 注: 仅对 {@link com.rxliuli.rxeasyexcel.read.DefaultExcelReader#resolve(ExcelReadContext)} 生效，转换器需要是线程安全的
+     *
+     * @param executor 转换使用的线程池
+     * @return this
+     */
+    public ExcelReadContextBuilder<T> parallel(Executor executor) {
+        this.context.setParallelExecutor(executor);
+        return this;
+    }
+
+    /**
+     * 在 executor 中并发地将行转换为实体，每个任务转换 chunkSize 行
+     *
+     * @param executor  转换使用的线程池
+     * @param chunkSize 每个任务转换的行数
+     * @return this
+     */
+    public ExcelReadContextBuilder<T> parallel(Executor executor, int chunkSize) {
+        Assert.state(chunkSize > 0, "chunkSize must be greater than 0");
+        this.context.setParallelExecutor(executor);
+        this.context.setParallelChunkSize(chunkSize);
+        return this;
+    }
 
     public ExcelReadContext<T> build() {
         beforeBuildCheck();
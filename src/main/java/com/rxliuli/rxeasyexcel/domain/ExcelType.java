@@ -2,9 +2,10 @@ package com.rxliuli.rxeasyexcel.domain;
 
 
 import com.rxliuli.rxeasyexcel.internal.restrain.WorkbookCreate;
+import com.rxliuli.rxeasyexcel.internal.util.StreamingWorkbook;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 /**
@@ -15,24 +16,32 @@ public enum ExcelType implements WorkbookCreate {
     /**
      * xls
      */
-    XLS {
+    XLS(SpreadsheetVersion.EXCEL97) {
         @Override
-        public Workbook workbook(int mayRowCount) {
+        public Workbook workbook(int mayRowCount, ExcelWritePolicy policy) {
             return new HSSFWorkbook();
         }
     },
     /**
      * xlsx
      */
-    XLSX {
+    XLSX(SpreadsheetVersion.EXCEL2007) {
         @Override
-        public Workbook workbook(int mayRowCount) {
-            Workbook workbook = new XSSFWorkbook();
-            if (mayRowCount > 3000) {
-                workbook = new SXSSFWorkbook((XSSFWorkbook) workbook, 100);
-            }
-            return workbook;
+        public Workbook workbook(int mayRowCount, ExcelWritePolicy policy) {
+            return policy.isStreaming(mayRowCount) ? new StreamingWorkbook(policy) : new XSSFWorkbook();
         }
     };
 
+    private final SpreadsheetVersion version;
+
+    ExcelType(SpreadsheetVersion version) {
+        this.version = version;
+    }
+
+    /**
+     * @return 该格式一张表的最大行数
+     */
+    public int getMaxRows() {
+        return version.getMaxRows();
+    }
 }
@@ -1,13 +1,17 @@
 package com.rxliuli.rxeasyexcel.domain;
 
+import com.rxliuli.rxeasyexcel.ExcelException;
+import com.rxliuli.rxeasyexcel.domain.convert.ConverterRegistry;
 import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
 import org.apache.poi.ss.usermodel.Sheet;
 
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 /**
  * excel上下文
@@ -18,9 +22,21 @@ import java.util.function.BiConsumer;
  */
 public class ExcelWriteContext {
     /**
-     * 数据源
+     * 数据源，元素为 bean 或者 Map，只有在写入时才会逐行转换为 Map
      */
-    private List<Map<String, Object>> datasource;
+    private List<?> datasource;
+    /**
+     * 惰性的数据源，只能遍历一次，不为 {@code null} 时忽略 {@link #datasource}
+     */
+    private Iterator<?> datasourceIterator;
+    /**
+     * 写入结束后需要关闭的数据源
+     */
+    private AutoCloseable datasourceCloseable;
+    /**
+     * {@link #getDatasource()} 的缓存
+     */
+    private List<Map<String, Object>> datasourceMap;
     /**
      * excel头
      */
@@ -42,6 +58,26 @@ public class ExcelWriteContext {
      * 错误列表
      */
     private List<ExcelImportError> errors = Collections.emptyList();
+    /**
+     * 列宽的计算方式
+     */
+    private ColumnWidthStrategy columnWidthStrategy = ColumnWidthStrategy.ESTIMATE;
+    /**
+     * 估算列宽时参考的数据行数
+     */
+    private int columnWidthSampleRows = 100;
+    /**
+     * 每张表的最大行数（包含表头及之前的行），超过时写入续表，为 0 时使用格式的最大行数
+     */
+    private int maxRowsPerSheet = 0;
+    /**
+     * 续表的表名，参数为表名与续表的序号（从 2 开始）
+     */
+    private BiFunction<String, Integer, String> continuationSheetName = (sheetName, index) -> sheetName + "_" + index;
+    /**
+     * 查找转换器的注册表
+     */
+    private ConverterRegistry converterRegistry = ConverterRegistry.global();
 
     public ExcelWriteContext(boolean isTemplateExport) {
         this.isTemplateExport = isTemplateExport;
@@ -61,17 +97,95 @@ public class ExcelWriteContext {
 
     // package set
 
+    /**
+     * 获取全部的数据
+     * 注: 会将所有数据一次性转换为 Map，写入时请使用 {@link #getRowIterator()}
+     *
+     * @return 全部的数据，数据源为迭代器时为 {@code null}
+     */
     public List<Map<String, Object>> getDatasource() {
-        return datasource;
+        if (datasourceIterator != null) {
+            return null;
+        }
+        if (datasourceMap == null && datasource != null) {
+            datasourceMap = ExcelBeanHelper.beanToMap(datasource);
+        }
+        return datasourceMap;
+    }
+
+    /**
+     * 获取逐行转换为 Map 的迭代器，每一行只有在遍历到时才会转换
+     * 注: 数据源为迭代器时只能遍历一次
+     *
+     * @return 行迭代器
+     */
+    public Iterator<Map<String, Object>> getRowIterator() {
+        final Iterator<?> source = getSourceRowIterator();
+        return new Iterator<Map<String, Object>>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public Map<String, Object> next() {
+                return ExcelBeanHelper.beanToRowMap(source.next());
+            }
+        };
+    }
+
+    /**
+     * 获取原始数据的迭代器，元素为 bean 或者 Map，不会转换为 Map
+     * 注: 数据源为迭代器时只能遍历一次
+     *
+     * @return 行迭代器
+     */
+    public Iterator<?> getSourceRowIterator() {
+        return datasourceIterator != null ? datasourceIterator : datasource.iterator();
+    }
+
+    /**
+     * 获取数据的行数
+     *
+     * @return 行数，数据源为迭代器时为 -1
+     */
+    public int getRowCount() {
+        return datasourceIterator != null ? -1 : datasource.size();
+    }
+
+    /**
+     * 关闭数据源，数据源为 {@link AutoCloseable} 的迭代器（例如预取的分页数据源）时结束其占用的线程等资源
+     * 注: 写入类会在一张表写入结束或者失败后调用，可以重复调用
+     */
+    public void closeDatasource() {
+        if (datasourceCloseable == null) {
+            return;
+        }
+        try {
+            datasourceCloseable.close();
+        } catch (Exception e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    boolean hasDatasource() {
+        return datasource != null || datasourceIterator != null;
     }
 
     <T> ExcelWriteContext setDatasource(List<T> datasource) {
         // 处理空情况
-        if (null == datasource || datasource.isEmpty()) {
-            this.datasource = Collections.emptyList();
-            return this;
-        }
-        this.datasource = ExcelBeanHelper.beanToMap(datasource);
+        this.datasource = datasource == null ? Collections.emptyList() : datasource;
+        this.datasourceIterator = null;
+        this.datasourceCloseable = null;
+        this.datasourceMap = null;
+        return this;
+    }
+
+    <T> ExcelWriteContext setDatasource(Iterator<T> datasourceIterator, AutoCloseable datasourceCloseable) {
+        this.datasourceIterator = datasourceIterator;
+        this.datasourceCloseable = datasourceCloseable;
+        this.datasource = null;
+        this.datasourceMap = null;
         return this;
     }
 
@@ -131,4 +245,49 @@ public class ExcelWriteContext {
         this.errors = errors;
         return this;
     }
+
+    public ColumnWidthStrategy getColumnWidthStrategy() {
+        return columnWidthStrategy;
+    }
+
+    ExcelWriteContext setColumnWidthStrategy(ColumnWidthStrategy columnWidthStrategy) {
+        this.columnWidthStrategy = columnWidthStrategy;
+        return this;
+    }
+
+    public int getColumnWidthSampleRows() {
+        return columnWidthSampleRows;
+    }
+
+    ExcelWriteContext setColumnWidthSampleRows(int columnWidthSampleRows) {
+        this.columnWidthSampleRows = columnWidthSampleRows;
+        return this;
+    }
+
+    public int getMaxRowsPerSheet() {
+        return maxRowsPerSheet;
+    }
+
+    ExcelWriteContext setMaxRowsPerSheet(int maxRowsPerSheet) {
+        this.maxRowsPerSheet = maxRowsPerSheet;
+        return this;
+    }
+
+    public BiFunction<String, Integer, String> getContinuationSheetName() {
+        return continuationSheetName;
+    }
+
+    ExcelWriteContext setContinuationSheetName(BiFunction<String, Integer, String> continuationSheetName) {
+        this.continuationSheetName = continuationSheetName;
+        return this;
+    }
+
+    public ConverterRegistry getConverterRegistry() {
+        return converterRegistry;
+    }
+
+    ExcelWriteContext setConverterRegistry(ConverterRegistry converterRegistry) {
+        this.converterRegistry = converterRegistry;
+        return this;
+    }
 }
@@ -1,14 +1,23 @@
 package com.rxliuli.rxeasyexcel.domain;
 
+import com.rxliuli.rxeasyexcel.domain.convert.ConverterRegistry;
 import com.rxliuli.rxeasyexcel.internal.util.Assert;
 import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
+import com.rxliuli.rxeasyexcel.internal.util.PageIterator;
+import com.rxliuli.rxeasyexcel.internal.util.PrefetchPageIterator;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.iterators.PeekingIterator;
 import org.apache.poi.ss.usermodel.Sheet;
 
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
 
 /**
  * @author Quding Ding
@@ -19,6 +28,10 @@ public class ExcelWriteContextBuilder {
      * 所有的build都是对其进行维护
      */
     private ExcelWriteContext context;
+    /**
+     * header 对应的实体类，header 不是根据实体类确定时为 {@code null}
+     */
+    private Class<?> headerClass;
 
     public ExcelWriteContextBuilder(boolean isTemplateExport) {
         this.context = new ExcelWriteContext(isTemplateExport);
@@ -29,7 +42,7 @@ public class ExcelWriteContextBuilder {
         // 此时可以确定header
         if (null == this.context.getHeaders()) {
             if (CollectionUtils.isNotEmpty(datasource)) {
-                this.context.setHeaders(datasource.get(0));
+                headers(datasource.get(0).getClass());
             } else {
                 this.context.setHeaders(Collections.emptyList());
             }
@@ -37,6 +50,74 @@ public class ExcelWriteContextBuilder {
         return this;
     }
 
+    /**
+     * 使用迭代器作为数据源，写入时才会逐行获取，不需要将全部数据放到内存中
+     * 未指定 header 时根据第一个元素确定，迭代器为 {@link AutoCloseable} 时会在写入结束后关闭
+     *
+     * @param datasource 数据源，只会遍历一次
+     * @return this
+     */
+    public <T> ExcelWriteContextBuilder datasource(Iterator<T> datasource) {
+        Assert.notNull(datasource, "datasource can't be null");
+        final PeekingIterator<T> iterator = PeekingIterator.peekingIterator(datasource);
+        this.context.setDatasource(iterator, datasource instanceof AutoCloseable ? (AutoCloseable) datasource : null);
+        // 此时可以确定header
+        if (null == this.context.getHeaders()) {
+            if (iterator.hasNext()) {
+                headers(iterator.peek().getClass());
+            } else {
+                this.context.setHeaders(Collections.emptyList());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 使用流作为数据源，写入时才会逐行获取
+     * 注: 流需要由调用方在写入完成后关闭
+     *
+     * @param datasource 数据源
+     * @return this
+     */
+    public <T> ExcelWriteContextBuilder datasource(Stream<T> datasource) {
+        Assert.notNull(datasource, "datasource can't be null");
+        return datasource(datasource.iterator());
+    }
+
+    /**
+     * 分页获取数据源，写入时才会获取下一页，内存中最多只有一页数据
+     *
+     * @param pageFetcher 根据页码（从 1 开始）获取一页数据，返回空列表时结束
+     * @return this
+     */
+    public <T> ExcelWriteContextBuilder pageDatasource(IntFunction<? extends List<T>> pageFetcher) {
+        return datasource(new PageIterator<>(pageFetcher));
+    }
+
+    /**
+     * 分页获取数据源，在后台线程中预先获取之后的页，获取数据与写入同时进行
+     * 内存中最多有 prefetchPages + 2 页数据
+     *
+     * @param pageFetcher   根据页码（从 1 开始）获取一页数据，返回空列表时结束，在后台线程中调用
+     * @param prefetchPages 最多预先获取的页数
+     * @return this
+     */
+    public <T> ExcelWriteContextBuilder pageDatasource(IntFunction<? extends List<T>> pageFetcher, int prefetchPages) {
+        return pageDatasource(pageFetcher, prefetchPages, null);
+    }
+
+    /**
+     * 分页获取数据源，在 executor 中预先获取之后的页，获取数据与写入同时进行
+     *
+     * @param pageFetcher   根据页码（从 1 开始）获取一页数据，返回空列表时结束，在 executor 中调用
+     * @param prefetchPages 最多预先获取的页数
+     * @param executor      运行获取数据的任务的线程池，为 {@code null} 时使用一个新的守护线程
+     * @return this
+     */
+    public <T> ExcelWriteContextBuilder pageDatasource(IntFunction<? extends List<T>> pageFetcher, int prefetchPages, Executor executor) {
+        return datasource(new PrefetchPageIterator<>(pageFetcher, prefetchPages, executor));
+    }
+
     /**
      * 指定excel的header
      *
@@ -44,6 +125,7 @@ public class ExcelWriteContextBuilder {
      * @return this
      */
     public ExcelWriteContextBuilder headers(LinkedHashMap<String, ExcelWriterHeader> headers) {
+        this.headerClass = null;
         this.context.setHeaders(headers);
         return this;
     }
@@ -55,10 +137,26 @@ public class ExcelWriteContextBuilder {
      * @return this
      */
     public ExcelWriteContextBuilder headers(Class<?> clazz) {
+        this.headerClass = clazz;
         this.context.setHeaders(ExcelBeanHelper.beanToWriterHeaders(clazz, this.context));
         return this;
     }
 
+    /**
+     * 指定查找转换器的注册表，已经根据实体类确定的 header 会使用该注册表重新确定
+     *
+     * @param converters 注册表，默认为 {@link ConverterRegistry#global()}
+     * @return this
+     */
+    public ExcelWriteContextBuilder converters(ConverterRegistry converters) {
+        Assert.notNull(converters, "converters can't be null");
+        this.context.setConverterRegistry(converters);
+        if (this.headerClass != null) {
+            headers(this.headerClass);
+        }
+        return this;
+    }
+
     /**
      * 指定标记为错误的单元格的错误列表
      *
@@ -85,6 +183,55 @@ public class ExcelWriteContextBuilder {
         return this;
     }
 
+    /**
+     * 指定列宽的计算方式
+     *
+     * @param strategy 列宽的计算方式，默认为 {@link ColumnWidthStrategy#ESTIMATE}
+     * @return this
+     */
+    public ExcelWriteContextBuilder columnWidth(ColumnWidthStrategy strategy) {
+        Assert.notNull(strategy, "strategy can't be null");
+        this.context.setColumnWidthStrategy(strategy);
+        return this;
+    }
+
+    /**
+     * 根据表头以及前 sampleRows 行的内容估算列宽
+     *
+     * @param sampleRows 参考的数据行数，为 {@link Integer#MAX_VALUE} 时参考所有的行
+     * @return this
+     */
+    public ExcelWriteContextBuilder columnWidth(int sampleRows) {
+        Assert.state(sampleRows >= 0, "sampleRows must not be negative");
+        this.context.setColumnWidthStrategy(ColumnWidthStrategy.ESTIMATE);
+        this.context.setColumnWidthSampleRows(sampleRows);
+        return this;
+    }
+
+    /**
+     * 指定每张表的最大行数，数据超过时自动创建续表，续表会重复表头、批注与下拉框
+     *
+     * @param maxRowsPerSheet 每张表的最大行数（包含表头及之前的行），为 0 时使用格式的最大行数，超过格式的最大行数时同样使用格式的最大行数
+     * @return this
+     */
+    public ExcelWriteContextBuilder maxRowsPerSheet(int maxRowsPerSheet) {
+        Assert.state(maxRowsPerSheet >= 0, "maxRowsPerSheet must not be negative");
+        this.context.setMaxRowsPerSheet(maxRowsPerSheet);
+        return this;
+    }
+
+    /**
+     * 指定续表的表名，默认为 {@code 表名_序号}，未指定表名时续表同样使用默认的表名
+     *
+     * @param continuationSheetName 参数为表名与续表的序号（从 2 开始），返回续表的表名
+     * @return this
+     */
+    public ExcelWriteContextBuilder continuationSheetName(BiFunction<String, Integer, String> continuationSheetName) {
+        Assert.notNull(continuationSheetName, "continuationSheetName can't be null");
+        this.context.setContinuationSheetName(continuationSheetName);
+        return this;
+    }
+
     /**
      * 最终build方法
      *
@@ -97,7 +244,7 @@ public class ExcelWriteContextBuilder {
 
 
     private void beforeBuildCheck() {
-        Assert.notNull(context.getDatasource(), "datasource can't be null");
+        Assert.state(context.hasDatasource(), "datasource can't be null");
         Assert.notNull(context.getHeaders(), "headers can't be null");
     }
 }
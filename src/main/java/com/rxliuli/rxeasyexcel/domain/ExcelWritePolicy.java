@@ -0,0 +1,177 @@
+package com.rxliuli.rxeasyexcel.domain;
+
+import com.rxliuli.rxeasyexcel.internal.util.Assert;
+
+import java.io.File;
+import java.util.concurrent.Executor;
+
+/**
+ * xlsx 导出时的流式写入（{@link org.apache.poi.xssf.streaming.SXSSFWorkbook}）策略，用于在内存、磁盘与 CPU 之间取舍
+ * 对 xls 无效
+ *
+ * @author rxliuli
+ */
+public class ExcelWritePolicy {
+    /**
+     * 默认策略: 超过 3000 行时流式写入，内存中保留 100 行，临时文件不压缩，不使用共享字符串表
+     */
+    public static final ExcelWritePolicy DEFAULT = builder().build();
+
+    /**
+     * 行数超过该值时使用流式写入，行数未知时总是使用流式写入
+     */
+    private final int streamingThreshold;
+    /**
+     * 流式写入时内存中保留的行数，超过的行会被写到临时文件中
+     */
+    private final int rowAccessWindowSize;
+    /**
+     * 是否使用 gzip 压缩临时文件，能够大幅减少磁盘占用，但会增加 CPU 消耗
+     */
+    private final boolean compressTempFiles;
+    /**
+     * 是否使用共享字符串表，重复的字符串较多时能够减小文件大小，但所有不同的字符串都会保存在内存中
+     */
+    private final boolean useSharedStringsTable;
+    /**
+     * 临时文件目录，为 {@code null} 时使用 java.io.tmpdir
+     */
+    private final File tempDirectory;
+    /**
+     * 临时文件的磁盘配额与统计
+     */
+    private final TempFileQuota tempFileQuota;
+    /**
+     * 并发写入多张表使用的线程池，为 {@code null} 时在调用线程中逐张写入
+     */
+    private final Executor sheetExecutor;
+
+    private ExcelWritePolicy(Builder builder) {
+        this.streamingThreshold = builder.streamingThreshold;
+        this.rowAccessWindowSize = builder.rowAccessWindowSize;
+        this.compressTempFiles = builder.compressTempFiles;
+        this.useSharedStringsTable = builder.useSharedStringsTable;
+        this.tempDirectory = builder.tempDirectory;
+        this.tempFileQuota = builder.tempFileQuota;
+        this.sheetExecutor = builder.sheetExecutor;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 根据行数判断是否需要流式写入
+     *
+     * @param mayRowCount 预测的行数
+     * @return 是否流式写入
+     */
+    public boolean isStreaming(int mayRowCount) {
+        // 并发写入依赖于每张表独立的临时文件
+        return sheetExecutor != null || mayRowCount > streamingThreshold;
+    }
+
+    public int getStreamingThreshold() {
+        return streamingThreshold;
+    }
+
+    public int getRowAccessWindowSize() {
+        return rowAccessWindowSize;
+    }
+
+    public boolean isCompressTempFiles() {
+        return compressTempFiles;
+    }
+
+    public boolean isUseSharedStringsTable() {
+        return useSharedStringsTable;
+    }
+
+    public File getTempDirectory() {
+        return tempDirectory;
+    }
+
+    public TempFileQuota getTempFileQuota() {
+        return tempFileQuota;
+    }
+
+    public Executor getSheetExecutor() {
+        return sheetExecutor;
+    }
+
+    public static class Builder {
+        private int streamingThreshold = 3000;
+        private int rowAccessWindowSize = 100;
+        private boolean compressTempFiles = false;
+        private boolean useSharedStringsTable = false;
+        private File tempDirectory;
+        private TempFileQuota tempFileQuota = TempFileQuota.DEFAULT;
+        private Executor sheetExecutor;
+
+        /**
+         * @param streamingThreshold 行数超过该值时使用流式写入，0 表示总是流式写入，{@link Integer#MAX_VALUE} 表示从不流式写入
+         * @return this
+         */
+        public Builder streamingThreshold(int streamingThreshold) {
+            Assert.state(streamingThreshold >= 0, "streamingThreshold must not be negative");
+            this.streamingThreshold = streamingThreshold;
+            return this;
+        }
+
+        /**
+         * @param rowAccessWindowSize 流式写入时内存中保留的行数
+         * @return this
+         */
+        public Builder rowAccessWindowSize(int rowAccessWindowSize) {
+            Assert.state(rowAccessWindowSize > 0, "rowAccessWindowSize must be greater than 0");
+            this.rowAccessWindowSize = rowAccessWindowSize;
+            return this;
+        }
+
+        public Builder compressTempFiles(boolean compressTempFiles) {
+            this.compressTempFiles = compressTempFiles;
+            return this;
+        }
+
+        public Builder useSharedStringsTable(boolean useSharedStringsTable) {
+            this.useSharedStringsTable = useSharedStringsTable;
+            return this;
+        }
+
+        /**
+         * @param tempDirectory 临时文件目录，不存在时会自动创建
+         * @return this
+         */
+        public Builder tempDirectory(File tempDirectory) {
+            this.tempDirectory = tempDirectory;
+            return this;
+        }
+
+        /**
+         * @param tempFileQuota 临时文件的磁盘配额，多个导出共享同一个配额时限制的是它们的总大小，默认为 {@link TempFileQuota#DEFAULT}
+         * @return this
+         */
+        public Builder tempFileQuota(TempFileQuota tempFileQuota) {
+            Assert.notNull(tempFileQuota, "tempFileQuota can't be null");
+            this.tempFileQuota = tempFileQuota;
+            return this;
+        }
+
+        /**
+         * 在 executor 中并发写入每张表的数据行，{@link com.rxliuli.rxeasyexcel.write.ExcelWriter#write()} 时等待所有的表写入完成后合并为一个文件
+         * 注: 仅支持 xlsx，总是使用流式写入，不能与共享字符串表一起使用，错误列表也在写入线程中随对应的行写入（写入错误时会锁住工作簿）
+         *
+         * @param sheetExecutor 写入使用的线程池
+         * @return this
+         */
+        public Builder concurrentSheets(Executor sheetExecutor) {
+            this.sheetExecutor = sheetExecutor;
+            return this;
+        }
+
+        public ExcelWritePolicy build() {
+            Assert.state(sheetExecutor == null || !useSharedStringsTable, "concurrent sheets can't use shared strings table");
+            return new ExcelWritePolicy(this);
+        }
+    }
+}
@@ -26,20 +26,30 @@ public class ExcelWriterHeader extends BaseExcelHeader {
      * 下拉框的 Map，仅在 {@link super#getType()} 为 {@link ExcelColumnType#SELECT} 时有值
      */
     private final Map<?, String> selectMap;
+    /**
+     * 数据单元格的样式，为 {@code null} 时使用默认样式
+     */
+    private final ExcelCellStyle style;
 
-    private ExcelWriterHeader(String name, IConverter<Object> convert, Map<?, String> selectMap, ExcelColumnType type, String prompt) {
+    private ExcelWriterHeader(String name, IConverter<Object> convert, Map<?, String> selectMap, ExcelColumnType type, String prompt, ExcelCellStyle style) {
         super(convert, type);
         this.selectMap = selectMap;
         this.name = name;
         this.prompt = prompt;
+        // 只有文本列使用转换器写入，日期单元格需要数据格式
+        this.style = type == ExcelColumnType.TEXT ? convert.cellType().cellStyle(style) : style;
     }
 
     public static ExcelWriterHeader create(String name) {
-        return new ExcelWriterHeader(name, new DefaultConverter(), null, ExcelColumnType.TEXT, "");
+        return new ExcelWriterHeader(name, new DefaultConverter(), null, ExcelColumnType.TEXT, "", null);
     }
 
     public static ExcelWriterHeader create(String name, IConverter<Object> convert, Map<?, String> selectMap, ExcelColumnType type, String prompt) {
-        return new ExcelWriterHeader(name, convert, selectMap, type, prompt);
+        return new ExcelWriterHeader(name, convert, selectMap, type, prompt, convert.cellStyle());
+    }
+
+    public static ExcelWriterHeader create(String name, IConverter<Object> convert, Map<?, String> selectMap, ExcelColumnType type, String prompt, ExcelCellStyle style) {
+        return new ExcelWriterHeader(name, convert, selectMap, type, prompt, style);
     }
 
     public Map<?, String> getSelectMap() {
@@ -53,4 +63,8 @@ public class ExcelWriterHeader extends BaseExcelHeader {
     public String getName() {
         return name;
     }
+
+    public ExcelCellStyle getStyle() {
+        return style;
+    }
 }
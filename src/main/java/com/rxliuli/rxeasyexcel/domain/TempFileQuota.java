@@ -0,0 +1,91 @@
+package com.rxliuli.rxeasyexcel.domain;
+
+import com.rxliuli.rxeasyexcel.ExcelException;
+import com.rxliuli.rxeasyexcel.internal.util.Assert;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 流式写入时临时文件的磁盘配额与统计，可以被多个并发的导出共享
+ * 所有共享该配额的导出的临时文件总大小超过上限时，继续写入的导出会抛出 {@link ExcelException}
+ * 临时文件在导出结束（{@link com.rxliuli.rxeasyexcel.write.ExcelWriter#write()}）或者失败时删除并释放配额
+ *
+ * @author rxliuli
+ */
+public class TempFileQuota {
+    /**
+     * 默认的配额，没有上限，所有未指定配额的导出共享
+     */
+    public static final TempFileQuota DEFAULT = new TempFileQuota(Long.MAX_VALUE);
+
+    /**
+     * 临时文件的总大小上限（字节）
+     */
+    private final long maxBytes;
+    /**
+     * 当前磁盘上的临时文件的总大小
+     */
+    private final AtomicLong bytesInUse = new AtomicLong();
+    /**
+     * 累计写入的临时文件的大小
+     */
+    private final AtomicLong bytesWritten = new AtomicLong();
+    /**
+     * 累计创建的临时文件数量
+     */
+    private final AtomicLong filesCreated = new AtomicLong();
+
+    /**
+     * @param maxBytes 临时文件的总大小上限（字节）
+     */
+    public TempFileQuota(long maxBytes) {
+        Assert.state(maxBytes > 0, "maxBytes must be greater than 0");
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 申请写入临时文件的空间
+     *
+     * @param bytes 字节数
+     * @throws ExcelException 超过上限时
+     */
+    public void acquire(long bytes) {
+        if (bytesInUse.addAndGet(bytes) > maxBytes) {
+            bytesInUse.addAndGet(-bytes);
+            throw new ExcelException("临时文件的大小超过了上限 " + maxBytes + " 字节");
+        }
+        bytesWritten.addAndGet(bytes);
+    }
+
+    /**
+     * 删除临时文件后释放空间
+     *
+     * @param bytes 字节数
+     */
+    public void release(long bytes) {
+        bytesInUse.addAndGet(-bytes);
+    }
+
+    /**
+     * 记录创建了一个临时文件
+     */
+    public void fileCreated() {
+        filesCreated.incrementAndGet();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getBytesInUse() {
+        return bytesInUse.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    public long getFilesCreated() {
+        return filesCreated.get();
+    }
+}
@@ -16,4 +16,22 @@ public class BigDecimalConverter implements IConverter<BigDecimal> {
     public BigDecimal from(String to) {
         return new BigDecimal(to);
     }
+
+    @Override
+    public BigDecimal fromNumeric(double value) {
+        return BigDecimal.valueOf(value);
+    }
+
+    @Override
+    public ExcelCellType cellType() {
+        return ExcelCellType.NUMERIC;
+    }
+
+    /**
+     * 超过 15 位有效数字时写入为文本，避免 Excel 丢失精度
+     */
+    @Override
+    public Object toCellValue(BigDecimal bigDecimal) {
+        return bigDecimal.precision() <= 15 ? bigDecimal : to(bigDecimal);
+    }
 }
@@ -1,5 +1,8 @@
 package com.rxliuli.rxeasyexcel.domain.convert;
 
+import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
+
+import java.math.BigDecimal;
 import java.math.BigInteger;
 
 /**
@@ -15,4 +18,22 @@ public class BigIntegerConverter implements IConverter<BigInteger> {
     public BigInteger from(String to) {
         return new BigInteger(to);
     }
+
+    @Override
+    public BigInteger fromNumeric(double value) {
+        return BigDecimal.valueOf(Math.rint(value)).toBigInteger();
+    }
+
+    @Override
+    public ExcelCellType cellType() {
+        return ExcelCellType.NUMERIC;
+    }
+
+    /**
+     * 超过 15 位的数字写入为文本，避免 Excel 丢失精度
+     */
+    @Override
+    public Object toCellValue(BigInteger bigInteger) {
+        return bigInteger.abs().compareTo(BigInteger.valueOf(ExcelBeanHelper.MAX_EXACT_NUMERIC)) <= 0 ? bigInteger : to(bigInteger);
+    }
 }
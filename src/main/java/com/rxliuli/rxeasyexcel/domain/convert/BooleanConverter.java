@@ -13,4 +13,19 @@ public class BooleanConverter implements IConverter<Boolean> {
     public Boolean from(String to) {
         return Boolean.valueOf(to);
     }
+
+    @Override
+    public Boolean fromBoolean(boolean value) {
+        return value;
+    }
+
+    @Override
+    public ExcelCellType cellType() {
+        return ExcelCellType.BOOLEAN;
+    }
+
+    @Override
+    public Object toCellValue(Boolean aBoolean) {
+        return aBoolean;
+    }
 }
@@ -0,0 +1,102 @@
+package com.rxliuli.rxeasyexcel.domain.convert;
+
+import com.rxliuli.rxeasyexcel.internal.util.Assert;
+import com.rxliuli.rxeasyexcel.internal.util.ConvertHelper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 类型与转换器的注册表，查找时不加锁
+ * 全局注册表 {@link #global()} 中为内置的转换器，{@link #create()} 创建的注册表只在指定的上下文中生效，未注册的类型使用全局注册表中的转换器
+ *
+ * @author rxliuli
+ */
+public class ConverterRegistry {
+    private static final ConverterRegistry GLOBAL = new ConverterRegistry(null);
+
+    static {
+        GLOBAL.register(Integer.class, IntegerConverter.class);
+        GLOBAL.register(int.class, IntegerConverter.class);
+        GLOBAL.register(Long.class, LongConverter.class);
+        GLOBAL.register(long.class, LongConverter.class);
+        GLOBAL.register(Double.class, DoubleConverter.class);
+        GLOBAL.register(double.class, DoubleConverter.class);
+        GLOBAL.register(Float.class, FloatConverter.class);
+        GLOBAL.register(float.class, FloatConverter.class);
+        GLOBAL.register(Boolean.class, BooleanConverter.class);
+        GLOBAL.register(boolean.class, BooleanConverter.class);
+        GLOBAL.register(Date.class, DateConverter.class);
+        GLOBAL.register(LocalDateTime.class, LocalDateTimeConverter.class);
+        GLOBAL.register(LocalDate.class, LocalDateConverter.class);
+        GLOBAL.register(LocalTime.class, LocalTimeConverter.class);
+    }
+
+    private final ConverterRegistry parent;
+    private final Map<Class<?>, Class<? extends IConverter<?>>> converters = new ConcurrentHashMap<>();
+
+    private ConverterRegistry(ConverterRegistry parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * @return 全局的注册表，未指定注册表的上下文使用该注册表
+     */
+    public static ConverterRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * 创建一个新的注册表，未注册的类型使用全局注册表中的转换器
+     *
+     * @return 新的注册表
+     */
+    public static ConverterRegistry create() {
+        return new ConverterRegistry(GLOBAL);
+    }
+
+    /**
+     * 注册一个指定类型的转换器
+     *
+     * @param clazz     类型
+     * @param converter 对应的转换器
+     * @return this
+     */
+    public <T> ConverterRegistry register(Class<T> clazz, Class<? extends IConverter<T>> converter) {
+        Assert.notNull(clazz, "clazz can't be null");
+        Assert.notNull(converter, "converter can't be null");
+        converters.put(clazz, converter);
+        return this;
+    }
+
+    /**
+     * 根据类型获取转换器的类型
+     *
+     * @param clazz 类型
+     * @return 转换器的类型，如果没有对应类型，则返回 {@link DefaultConverter}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Class<? extends IConverter<T>> get(Class<T> clazz) {
+        for (ConverterRegistry registry = this; registry != null; registry = registry.parent) {
+            final Class<? extends IConverter<?>> converter = registry.converters.get(clazz);
+            if (converter != null) {
+                return (Class<? extends IConverter<T>>) converter;
+            }
+        }
+        return (Class<? extends IConverter<T>>) (Class<?>) DefaultConverter.class;
+    }
+
+    /**
+     * 根据类型获取转换器，同一个转换器类型只会创建一个实例
+     *
+     * @param clazz 类型
+     * @return 转换器
+     */
+    public <T> IConverter<T> getConverter(Class<T> clazz) {
+        return ConvertHelper.getConvert(get(clazz));
+    }
+}
@@ -1,19 +1,25 @@
 package com.rxliuli.rxeasyexcel.domain.convert;
 
 import com.rxliuli.rxeasyexcel.ExcelException;
+import com.rxliuli.rxeasyexcel.domain.ExcelCellStyle;
 import org.apache.commons.lang3.time.FastDateFormat;
 
-import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAccessor;
 import java.util.Date;
 
 /**
  * 普通 {@link Date} 转换器
+ * 读取时支持毫秒时间戳以及与 {@link LocalDateTimeConverter} 相同的格式（使用系统时区），每一列会记住上一次匹配的格式
  *
  * @author rxliuli
  */
 public class DateConverter implements IConverter<Date> {
     private static final FastDateFormat FAST_DATE_FORMAT = FastDateFormat.getInstance("yyyy-MM-dd HH:mm:ss");
 
+    private final TemporalSniffer sniffer = new TemporalSniffer(TemporalSniffer.DATE_TIME_FORMATS);
+
     @Override
     public String to(Date date) {
         return FAST_DATE_FORMAT.format(date);
@@ -21,6 +27,39 @@ public class DateConverter implements IConverter<Date> {
 
     @Override
     public Date from(String s) {
-        return new Date(Long.parseLong(s));
+        if (TemporalSniffer.isEpochMillis(s)) {
+            return new Date(Long.parseLong(s));
+        }
+        final TemporalAccessor fields = sniffer.parse(s);
+        final LocalDateTime dateTime = LocalDateTime.of(TemporalSniffer.toLocalDate(fields, s), TemporalSniffer.toLocalTime(fields, s));
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    @Override
+    public Date fromDate(Date value) {
+        return value;
+    }
+
+    @Override
+    public ExcelCellType cellType() {
+        return ExcelCellType.DATE;
+    }
+
+    @Override
+    public Object toCellValue(Date date) {
+        return date;
+    }
+
+    @Override
+    public ExcelCellStyle cellStyle() {
+        return ExcelCellStyle.of().dataFormat("yyyy-mm-dd hh:mm:ss");
+    }
+
+    /**
+     * 每一列使用单独的实例，记录该列的格式
+     */
+    @Override
+    public IConverter<Date> forColumn() {
+        return getClass() == DateConverter.class ? new DateConverter() : this;
     }
 }
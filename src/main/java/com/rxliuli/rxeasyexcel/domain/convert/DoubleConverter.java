@@ -3,14 +3,14 @@ package com.rxliuli.rxeasyexcel.domain.convert;
 /**
  * @author rxliuli
  */
-public class DoubleConverter implements IConverter<Double> {
+public class DoubleConverter implements PrimitiveConverter.OfDouble {
     @Override
     public String to(Double aDouble) {
         return Double.toString(aDouble);
     }
 
     @Override
-    public Double from(String s) {
-        return Double.valueOf(s);
+    public double fromAsDouble(String s) {
+        return Double.parseDouble(s);
     }
 }
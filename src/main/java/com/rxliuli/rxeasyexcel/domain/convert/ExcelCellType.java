@@ -0,0 +1,107 @@
+package com.rxliuli.rxeasyexcel.domain.convert;
+
+import com.rxliuli.rxeasyexcel.domain.ExcelCellStyle;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+
+/**
+ * 写入时单元格的类型，决定 {@link IConverter#toCellValue(Object)} 返回值的类型
+ * 没有重写 {@link IConverter#toCellValue(Object)} 的转换器返回的是 {@link IConverter#to(Object)} 的文本，写入时会通过
+ * {@link #toCellValue(Object)} 转换为对应类型的值
+ *
+ * @author rxliuli
+ */
+public enum ExcelCellType {
+    /**
+     * 文本，值为 {@link String}
+     */
+    STRING,
+    /**
+     * 数字，值为 {@link Number}
+     */
+    NUMERIC,
+    /**
+     * 布尔，值为 {@link Boolean}
+     */
+    BOOLEAN,
+    /**
+     * 日期，值为 {@link java.util.Date}，可以通过 {@link IConverter#cellStyle()} 指定日期格式，默认为 {@link #DEFAULT_DATE_FORMAT}
+     */
+    DATE;
+
+    /**
+     * 日期单元格默认的数据格式
+     */
+    public static final String DEFAULT_DATE_FORMAT = "yyyy-mm-dd hh:mm:ss";
+    /**
+     * 将日期文本转换为日期单元格的值，所有日期类型的列共享
+     */
+    private static final TemporalSniffer DATE_SNIFFER = new TemporalSniffer(TemporalSniffer.DATE_TIME_FORMATS);
+
+    /**
+     * 将 {@link IConverter#toCellValue(Object)} 的返回值转换为该类型单元格的值
+     *
+     * @param value 单元格的值
+     * @return 该类型的值，文本无法转换时（例如超过 15 位的数字）仍然为文本
+     */
+    public Object toCellValue(Object value) {
+        if (!(value instanceof String)) {
+            return value;
+        }
+        final String text = (String) value;
+        switch (this) {
+            case NUMERIC:
+                if (NumberUtils.isParsable(text)) {
+                    final BigDecimal number = new BigDecimal(text);
+                    // 超过 15 位有效数字的值写入为数字会丢失精度
+                    return number.precision() <= 15 ? number : text;
+                }
+                return text;
+            case BOOLEAN:
+                if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+                    return Boolean.valueOf(text);
+                }
+                return text;
+            case DATE:
+                return toDate(text);
+            default:
+                return text;
+        }
+    }
+
+    /**
+     * 补充该类型单元格需要的样式，日期单元格没有数据格式时无法显示为日期
+     *
+     * @param style 列的样式，可以为 {@code null}
+     * @return 日期单元格没有指定数据格式时使用 {@link #DEFAULT_DATE_FORMAT}，其他情况为原来的样式
+     */
+    public ExcelCellStyle cellStyle(ExcelCellStyle style) {
+        if (this != DATE || (style != null && style.getDataFormat() != null)) {
+            return style;
+        }
+        return ExcelCellStyle.of().merge(style).dataFormat(DEFAULT_DATE_FORMAT);
+    }
+
+    private static Object toDate(String text) {
+        if (TemporalSniffer.isEpochMillis(text)) {
+            return new Date(Long.parseLong(text));
+        }
+        final TemporalAccessor fields = DATE_SNIFFER.tryParse(text);
+        if (fields == null) {
+            return text;
+        }
+        try {
+            final LocalDateTime dateTime = LocalDateTime.of(TemporalSniffer.toLocalDate(fields, text), TemporalSniffer.toLocalTime(fields, text));
+            return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+        } catch (DateTimeParseException e) {
+            // 格式正确但是日期无效（例如 2 月 30 日）
+            return text;
+        }
+    }
+}
@@ -13,4 +13,22 @@ public class FloatConverter implements IConverter<Float> {
     public Float from(String s) {
         return Float.valueOf(s);
     }
+
+    @Override
+    public Float fromNumeric(double value) {
+        return (float) value;
+    }
+
+    @Override
+    public ExcelCellType cellType() {
+        return ExcelCellType.NUMERIC;
+    }
+
+    /**
+     * 按照 float 的十进制表示转换为 double，避免写入 0.10000000149011612 这样的值
+     */
+    @Override
+    public Object toCellValue(Float aFloat) {
+        return Float.isFinite(aFloat) ? Double.valueOf(Float.toString(aFloat)) : to(aFloat);
+    }
 }
@@ -1,7 +1,16 @@
 package com.rxliuli.rxeasyexcel.domain.convert;
 
+import com.rxliuli.rxeasyexcel.domain.ExcelCellStyle;
+import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
+
+import java.util.Date;
+
 /**
  * 转换功能接口，默认什么都不做
+ * 写入时使用 {@link #toCellValue(Object)}，默认为 {@link #to(Object)} 的文本，可以通过 {@link #cellType()} 声明为数字、布尔或者日期单元格
+ * 读取时文本单元格使用 {@link #from(String)}，数字、日期与布尔单元格分别使用 {@link #fromNumeric(double)}、
+ * {@link #fromDate(Date)} 与 {@link #fromBoolean(boolean)}，默认实现会先转换为字符串再调用 {@link #from(String)}，
+ * 需要避免字符串转换的开销时可以重写对应的方法
  *
  * @param <Form> 字段的类型，可以是任何类型
  * @author rxliuli
@@ -15,6 +24,27 @@ public interface IConverter<Form> {
      */
     String to(Form form);
 
+    /**
+     * 写入时单元格的类型，同时决定单元格的默认样式（例如日期格式）
+     * 没有重写 {@link #toCellValue(Object)} 时，{@link #to(Object)} 的文本会通过 {@link ExcelCellType#toCellValue(Object)} 转换为该类型
+     *
+     * @return 单元格的类型，默认为 {@link ExcelCellType#STRING}
+     */
+    default ExcelCellType cellType() {
+        return ExcelCellType.STRING;
+    }
+
+    /**
+     * 将对象字段转换为 {@link #cellType()} 对应类型的单元格的值
+     * 无法使用对应类型表示的值（例如超过 Excel 精度的数字）可以返回字符串，写入为文本
+     *
+     * @param form 字段的值，不为 {@code null}
+     * @return 单元格的值，默认为 {@link #to(Object)} 的结果
+     */
+    default Object toCellValue(Form form) {
+        return to(form);
+    }
+
     /**
      * 将表格单元格的值转换为对象字段
      *
@@ -22,4 +52,52 @@ public interface IConverter<Form> {
      * @return 字段的值
      */
     Form from(String to);
+
+    /**
+     * 将数字单元格的值转换为对象字段
+     *
+     * @param value 单元格的值
+     * @return 字段的值，默认为四舍五入后的整数字符串经过 {@link #from(String)} 转换的结果
+     */
+    default Form fromNumeric(double value) {
+        return from(ExcelBeanHelper.formatNumeric(value));
+    }
+
+    /**
+     * 将日期单元格的值转换为对象字段
+     *
+     * @param value 单元格的值
+     * @return 字段的值，默认为时间戳字符串经过 {@link #from(String)} 转换的结果
+     */
+    default Form fromDate(Date value) {
+        return from(Long.toString(value.getTime()));
+    }
+
+    /**
+     * 将布尔单元格的值转换为对象字段
+     *
+     * @param value 单元格的值
+     * @return 字段的值，默认为 true/false 经过 {@link #from(String)} 转换的结果
+     */
+    default Form fromBoolean(boolean value) {
+        return from(Boolean.toString(value));
+    }
+
+    /**
+     * 写入时该列数据单元格的样式，例如数字格式、颜色
+     *
+     * @return 单元格的样式，默认为 {@code null}（使用默认样式）
+     */
+    default ExcelCellStyle cellStyle() {
+        return null;
+    }
+
+    /**
+     * 读取时为每一列获取一个转换器，可以在其中记录该列的状态，例如该列日期的格式
+     *
+     * @return 该列使用的转换器，默认为 this（所有列共享同一个实例）
+     */
+    default IConverter<Form> forColumn() {
+        return this;
+    }
 }
@@ -3,14 +3,14 @@ package com.rxliuli.rxeasyexcel.domain.convert;
 /**
  * @author rxliuli
  */
-public class IntegerConverter implements IConverter<Integer> {
+public class IntegerConverter implements PrimitiveConverter.OfInt {
     @Override
     public String to(Integer integer) {
         return Integer.toString(integer);
     }
 
     @Override
-    public Integer from(String s) {
-        return Integer.valueOf(s);
+    public int fromAsInt(String s) {
+        return Integer.parseInt(s);
     }
 }
@@ -1,17 +1,24 @@
 package com.rxliuli.rxeasyexcel.domain.convert;
 
+import com.rxliuli.rxeasyexcel.domain.ExcelCellStyle;
+
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
 
 /**
+ * Java8 {@link LocalDate} 的转换器
+ * 读取时支持毫秒时间戳以及 {@code yyyy/MM/dd}、{@code yyyy-MM-dd} 等格式（可以带有时间），每一列会记住上一次匹配的格式
+ *
  * @author rxliuli
  */
 public class LocalDateConverter implements IConverter<LocalDate> {
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter DATE_FORMAT_EXCEL = DateTimeFormatter.ofPattern("yyyy/MM/dd");
 
+    private final TemporalSniffer sniffer = new TemporalSniffer(TemporalSniffer.DATE_TIME_FORMATS);
+
     @Override
     public String to(LocalDate localDateTime) {
         return DATE_FORMAT_EXCEL.format(localDateTime);
@@ -19,6 +26,40 @@ public class LocalDateConverter implements IConverter<LocalDate> {
 
     @Override
     public LocalDate from(String s) {
-        return Instant.ofEpochMilli(Long.valueOf(s)).atZone(ZoneId.systemDefault()).toLocalDate();
+        if (TemporalSniffer.isEpochMillis(s)) {
+            return Instant.ofEpochMilli(Long.parseLong(s)).atZone(ZoneId.systemDefault()).toLocalDate();
+        }
+        return TemporalSniffer.toLocalDate(sniffer.parse(s), s);
+    }
+
+    @Override
+    public LocalDate fromDate(Date value) {
+        return Instant.ofEpochMilli(value.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    @Override
+    public ExcelCellType cellType() {
+        return ExcelCellType.DATE;
+    }
+
+    /**
+     * 与 {@link #fromDate(Date)} 相同使用系统时区
+     */
+    @Override
+    public Object toCellValue(LocalDate localDate) {
+        return Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    @Override
+    public ExcelCellStyle cellStyle() {
+        return ExcelCellStyle.of().dataFormat("yyyy/mm/dd");
+    }
+
+    /**
+     * 每一列使用单独的实例，记录该列的格式
+     */
+    @Override
+    public IConverter<LocalDate> forColumn() {
+        return getClass() == LocalDateConverter.class ? new LocalDateConverter() : this;
     }
 }
@@ -1,30 +1,25 @@
 package com.rxliuli.rxeasyexcel.domain.convert;
 
+import com.rxliuli.rxeasyexcel.domain.ExcelCellStyle;
+
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
 
 /**
  * Java8 {@link LocalDateTime} 的转换器
+ * 读取时支持毫秒时间戳以及 {@code yyyy/MM/dd HH:mm:ss}、{@code yyyy-MM-dd HH:mm:ss}、{@code yyyy-MM-ddTHH:mm:ss} 等格式，
+ * 格式通过扫描字符判断，不依赖异常，每一列会记住上一次匹配的格式
  *
  * @author rxliuli
  */
 public class LocalDateTimeConverter implements IConverter<LocalDateTime> {
-    /**
-     * {@link LocalDateTime} 解析格式对象
-     * 能够解析类似于 {@code yyyy-MM-dd hh:mm:ss} 这种通过空格分隔格式的字符串
-     */
-    private static final DateTimeFormatter LOCAL_DATE_TIME_FORMATTER_FOR_SPACE_SEPARATED =
-            new DateTimeFormatterBuilder().appendPattern("yyyy-MM-dd[ [HH][:mm][:ss]]")
-                    .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
-                    .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
-                    .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
-                    .toFormatter();
-
     private static final DateTimeFormatter LOCAL_DATE_TIME_FORMATTER_EXCEL = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss");
 
+    private final TemporalSniffer sniffer = new TemporalSniffer(TemporalSniffer.DATE_TIME_FORMATS);
+
     @Override
     public String to(LocalDateTime localDateTime) {
         return LOCAL_DATE_TIME_FORMATTER_EXCEL.format(localDateTime);
@@ -32,10 +27,41 @@ public class LocalDateTimeConverter implements IConverter<LocalDateTime> {
 
     @Override
     public LocalDateTime from(String s) {
-        try {
-            return LocalDateTime.ofEpochSecond(Long.valueOf(s) / 1000, 0, ZoneOffset.ofHours(8));
-        } catch (Exception e) {
-            return LocalDateTime.parse(s, LOCAL_DATE_TIME_FORMATTER_EXCEL);
+        if (TemporalSniffer.isEpochMillis(s)) {
+            return LocalDateTime.ofEpochSecond(Long.parseLong(s) / 1000, 0, ZoneOffset.ofHours(8));
         }
+        final TemporalAccessor fields = sniffer.parse(s);
+        return LocalDateTime.of(TemporalSniffer.toLocalDate(fields, s), TemporalSniffer.toLocalTime(fields, s));
+    }
+
+    @Override
+    public LocalDateTime fromDate(Date value) {
+        return LocalDateTime.ofEpochSecond(value.getTime() / 1000, 0, ZoneOffset.ofHours(8));
+    }
+
+    @Override
+    public ExcelCellType cellType() {
+        return ExcelCellType.DATE;
+    }
+
+    /**
+     * 与 {@link #fromDate(Date)} 相同使用 +8 时区，写入后再导入能够得到相同的值
+     */
+    @Override
+    public Object toCellValue(LocalDateTime localDateTime) {
+        return Date.from(localDateTime.toInstant(ZoneOffset.ofHours(8)));
+    }
+
+    @Override
+    public ExcelCellStyle cellStyle() {
+        return ExcelCellStyle.of().dataFormat("yyyy/mm/dd hh:mm:ss");
+    }
+
+    /**
+     * 每一列使用单独的实例，记录该列的格式
+     */
+    @Override
+    public IConverter<LocalDateTime> forColumn() {
+        return getClass() == LocalDateTimeConverter.class ? new LocalDateTimeConverter() : this;
     }
 }
@@ -1,14 +1,21 @@
 package com.rxliuli.rxeasyexcel.domain.convert;
 
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
 
 /**
+ * Java8 {@link LocalTime} 的转换器
+ * 读取时支持 {@code HH:mm}、{@code HH:mm:ss} 与带有小数秒的格式，小时、分钟与秒可以是一位数
+ *
  * @author rxliuli
  */
 public class LocalTimeConverter implements IConverter<LocalTime> {
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
 
+    private final TemporalSniffer sniffer = new TemporalSniffer(TemporalSniffer.TIME_FORMATS);
+
     @Override
     public String to(LocalTime localDateTime) {
         return TIME_FORMATTER.format(localDateTime);
@@ -16,6 +23,19 @@ public class LocalTimeConverter implements IConverter<LocalTime> {
 
     @Override
     public LocalTime from(String s) {
-        return LocalTime.parse(s, TIME_FORMATTER);
+        return TemporalSniffer.toLocalTime(sniffer.parse(s), s);
+    }
+
+    @Override
+    public LocalTime fromDate(Date value) {
+        return value.toInstant().atZone(ZoneId.systemDefault()).toLocalTime();
+    }
+
+    /**
+     * 每一列使用单独的实例，记录该列的格式
+     */
+    @Override
+    public IConverter<LocalTime> forColumn() {
+        return getClass() == LocalTimeConverter.class ? new LocalTimeConverter() : this;
     }
 }
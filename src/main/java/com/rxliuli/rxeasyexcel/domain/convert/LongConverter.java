@@ -1,16 +1,23 @@
 package com.rxliuli.rxeasyexcel.domain.convert;
 
+import java.util.Date;
+
 /**
  * @author rxliuli
  */
-public class LongConverter implements IConverter<Long> {
+public class LongConverter implements PrimitiveConverter.OfLong {
     @Override
     public String to(Long aLong) {
         return Long.toString(aLong);
     }
 
     @Override
-    public Long from(String s) {
-        return Long.valueOf(s);
+    public long fromAsLong(String s) {
+        return Long.parseLong(s);
+    }
+
+    @Override
+    public Long fromDate(Date value) {
+        return value.getTime();
     }
 }
@@ -0,0 +1,268 @@
+package com.rxliuli.rxeasyexcel.domain.convert;
+
+import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
+import com.rxliuli.rxeasyexcel.internal.util.FieldAccessor;
+
+/**
+ * 基本类型的转换器，字段的类型与 {@link #primitiveType()} 相同时读写不需要装箱
+ * 写入时使用 {@link #readNumeric(Object, FieldAccessor)} 直接得到数字单元格的值，读取时使用
+ * {@link #setFromNumeric(Object, FieldAccessor, double)} 与 {@link #setFromText(Object, FieldAccessor, String)} 直接设置字段
+ * 包装类型的字段与 Map 数据仍然使用 {@link IConverter} 中的方法
+ * 一般实现 {@link OfInt}、{@link OfLong} 或者 {@link OfDouble}
+ *
+ * @param <Form> 基本类型对应的包装类型
+ * @author rxliuli
+ */
+public interface PrimitiveConverter<Form> extends IConverter<Form> {
+    /**
+     * @return 对应的基本类型，例如 {@code int.class}
+     */
+    Class<?> primitiveType();
+
+    /**
+     * 读取字段并转换为数字单元格的值
+     *
+     * @param target   对象
+     * @param accessor 字段的读写器，字段的类型为 {@link #primitiveType()}
+     * @return 数字单元格的值，为 {@link Double#NaN} 时表示无法写入为数字，使用 {@link #toCellValue(Object)} 写入
+     */
+    double readNumeric(Object target, FieldAccessor accessor);
+
+    /**
+     * 将数字单元格的值转换后设置到字段中
+     *
+     * @param target   对象
+     * @param accessor 字段的读写器，字段的类型为 {@link #primitiveType()}
+     * @param value    单元格的值
+     */
+    void setFromNumeric(Object target, FieldAccessor accessor, double value);
+
+    /**
+     * 将文本单元格的值转换后设置到字段中
+     *
+     * @param target   对象
+     * @param accessor 字段的读写器，字段的类型为 {@link #primitiveType()}
+     * @param value    单元格的值
+     */
+    void setFromText(Object target, FieldAccessor accessor, String value);
+
+    @Override
+    default ExcelCellType cellType() {
+        return ExcelCellType.NUMERIC;
+    }
+
+    /**
+     * int 的转换器
+     */
+    interface OfInt extends PrimitiveConverter<Integer> {
+        /**
+         * 将文本单元格的值转换为字段的值
+         *
+         * @param to 单元格的值
+         * @return 字段的值
+         */
+        int fromAsInt(String to);
+
+        /**
+         * 将数字单元格的值转换为字段的值
+         *
+         * @param value 单元格的值
+         * @return 四舍五入后的整数，超出范围时抛出 {@link NumberFormatException}
+         */
+        default int fromNumericAsInt(double value) {
+            final double rounded = Math.rint(value);
+            if (rounded < Integer.MIN_VALUE || rounded > Integer.MAX_VALUE) {
+                throw new NumberFormatException("For input string: \"" + ExcelBeanHelper.formatNumeric(value) + "\"");
+            }
+            return (int) rounded;
+        }
+
+        /**
+         * 将字段的值转换为数字单元格的值
+         *
+         * @param value 字段的值
+         * @return 单元格的值，为 {@link Double#NaN} 时使用 {@link #toCellValue(Object)}
+         */
+        default double toNumeric(int value) {
+            return value;
+        }
+
+        @Override
+        default Integer from(String to) {
+            return fromAsInt(to);
+        }
+
+        @Override
+        default Integer fromNumeric(double value) {
+            return fromNumericAsInt(value);
+        }
+
+        @Override
+        default Object toCellValue(Integer value) {
+            return value;
+        }
+
+        @Override
+        default Class<?> primitiveType() {
+            return int.class;
+        }
+
+        @Override
+        default double readNumeric(Object target, FieldAccessor accessor) {
+            return toNumeric(accessor.getInt(target));
+        }
+
+        @Override
+        default void setFromNumeric(Object target, FieldAccessor accessor, double value) {
+            accessor.setInt(target, fromNumericAsInt(value));
+        }
+
+        @Override
+        default void setFromText(Object target, FieldAccessor accessor, String value) {
+            accessor.setInt(target, fromAsInt(value));
+        }
+    }
+
+    /**
+     * long 的转换器
+     */
+    interface OfLong extends PrimitiveConverter<Long> {
+        /**
+         * 将文本单元格的值转换为字段的值
+         *
+         * @param to 单元格的值
+         * @return 字段的值
+         */
+        long fromAsLong(String to);
+
+        /**
+         * 将数字单元格的值转换为字段的值
+         *
+         * @param value 单元格的值
+         * @return 四舍五入后的整数，超出范围时抛出 {@link NumberFormatException}
+         */
+        default long fromNumericAsLong(double value) {
+            final double rounded = Math.rint(value);
+            if (rounded < Long.MIN_VALUE || rounded >= Long.MAX_VALUE) {
+                throw new NumberFormatException("For input string: \"" + ExcelBeanHelper.formatNumeric(value) + "\"");
+            }
+            return (long) rounded;
+        }
+
+        /**
+         * 将字段的值转换为数字单元格的值
+         *
+         * @param value 字段的值
+         * @return 单元格的值，超过 15 位时为 {@link Double#NaN}，使用 {@link #toCellValue(Object)} 写入为文本
+         */
+        default double toNumeric(long value) {
+            return Math.abs(value) <= ExcelBeanHelper.MAX_EXACT_NUMERIC ? value : Double.NaN;
+        }
+
+        @Override
+        default Long from(String to) {
+            return fromAsLong(to);
+        }
+
+        @Override
+        default Long fromNumeric(double value) {
+            return fromNumericAsLong(value);
+        }
+
+        /**
+         * 超过 15 位的数字（例如雪花算法的 id）写入为文本，避免 Excel 丢失精度
+         */
+        @Override
+        default Object toCellValue(Long value) {
+            return Math.abs(value) <= ExcelBeanHelper.MAX_EXACT_NUMERIC ? value : to(value);
+        }
+
+        @Override
+        default Class<?> primitiveType() {
+            return long.class;
+        }
+
+        @Override
+        default double readNumeric(Object target, FieldAccessor accessor) {
+            return toNumeric(accessor.getLong(target));
+        }
+
+        @Override
+        default void setFromNumeric(Object target, FieldAccessor accessor, double value) {
+            accessor.setLong(target, fromNumericAsLong(value));
+        }
+
+        @Override
+        default void setFromText(Object target, FieldAccessor accessor, String value) {
+            accessor.setLong(target, fromAsLong(value));
+        }
+    }
+
+    /**
+     * double 的转换器
+     */
+    interface OfDouble extends PrimitiveConverter<Double> {
+        /**
+         * 将文本单元格的值转换为字段的值
+         *
+         * @param to 单元格的值
+         * @return 字段的值
+         */
+        double fromAsDouble(String to);
+
+        /**
+         * 将数字单元格的值转换为字段的值
+         *
+         * @param value 单元格的值
+         * @return 字段的值，默认不做转换
+         */
+        default double fromNumericAsDouble(double value) {
+            return value;
+        }
+
+        /**
+         * 将字段的值转换为数字单元格的值
+         *
+         * @param value 字段的值
+         * @return 单元格的值，NaN 与无穷大为 {@link Double#NaN}，使用 {@link #toCellValue(Object)} 写入为文本
+         */
+        default double toNumeric(double value) {
+            return Double.isFinite(value) ? value : Double.NaN;
+        }
+
+        @Override
+        default Double from(String to) {
+            return fromAsDouble(to);
+        }
+
+        @Override
+        default Double fromNumeric(double value) {
+            return fromNumericAsDouble(value);
+        }
+
+        @Override
+        default Object toCellValue(Double value) {
+            return Double.isFinite(value) ? value : to(value);
+        }
+
+        @Override
+        default Class<?> primitiveType() {
+            return double.class;
+        }
+
+        @Override
+        default double readNumeric(Object target, FieldAccessor accessor) {
+            return toNumeric(accessor.getDouble(target));
+        }
+
+        @Override
+        default void setFromNumeric(Object target, FieldAccessor accessor, double value) {
+            accessor.setDouble(target, fromNumericAsDouble(value));
+        }
+
+        @Override
+        default void setFromText(Object target, FieldAccessor accessor, String value) {
+            accessor.setDouble(target, fromAsDouble(value));
+        }
+    }
+}
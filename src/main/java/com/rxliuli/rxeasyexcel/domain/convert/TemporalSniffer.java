@@ -0,0 +1,237 @@
+package com.rxliuli.rxeasyexcel.domain.convert;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.SignStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 日期与时间文本的格式探测，不使用异常判断格式
+ * 依次使用 {@link DateTimeFormatter#parseUnresolved(CharSequence, ParsePosition)} 尝试每一种格式，
+ * 前 {@link #LEARN_SAMPLES} 个匹配的值会统计每一种格式的匹配次数，之后固定优先尝试匹配次数最多的格式，
+ * 同一列的值一般格式相同，之后的值通常第一次尝试就能匹配，少数其它格式的值也不会改变优先的格式
+ * 只有所有格式都不匹配或者值无效（例如 2 月 30 日）时才会抛出 {@link DateTimeParseException}
+ * 注: 可以在多个线程中同时使用，此时统计的顺序不确定，但是不会影响解析结果
+ *
+ * @author rxliuli
+ */
+final class TemporalSniffer {
+    /**
+     * 日期与可选的时间，例如 {@code 2018/12/11}、{@code 2018-12-11 8:30}、{@code 2018-12-11T08:30:00.123}
+     */
+    static final DateTimeFormatter[] DATE_TIME_FORMATS = {
+            dateTime('/', ' ', true),
+            dateTime('-', ' ', true),
+            dateTime('-', 'T', false),
+    };
+    /**
+     * 时间，例如 {@code 8:30}、{@code 08:30:00}
+     */
+    static final DateTimeFormatter[] TIME_FORMATS = {
+            appendTime(new DateTimeFormatterBuilder()).toFormatter(),
+    };
+    /**
+     * 不会溢出 long 的最大位数
+     */
+    private static final int MAX_EPOCH_DIGITS = 18;
+    /**
+     * 统计匹配次数的值的数量
+     */
+    static final int LEARN_SAMPLES = 16;
+
+    private final DateTimeFormatter[] formats;
+    /**
+     * 统计期间每一种格式的匹配次数
+     */
+    private final AtomicIntegerArray hits;
+    /**
+     * 统计期间匹配的值的数量
+     */
+    private final AtomicInteger samples = new AtomicInteger();
+    /**
+     * 匹配次数最多的格式的下标，统计结束前为 -1
+     */
+    private volatile int dominant = -1;
+
+    TemporalSniffer(DateTimeFormatter[] formats) {
+        this.formats = formats;
+        this.hits = new AtomicIntegerArray(formats.length);
+    }
+
+    /**
+     * 判断文本是否为毫秒时间戳，即可选的负号与不超过 18 位的数字，此时可以直接使用 {@link Long#parseLong(String)}
+     *
+     * @param text 文本
+     * @return 是否为时间戳
+     */
+    static boolean isEpochMillis(String text) {
+        final int start = text.startsWith("-") ? 1 : 0;
+        final int digits = text.length() - start;
+        if (digits == 0 || digits > MAX_EPOCH_DIGITS) {
+            return false;
+        }
+        for (int i = start; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 探测文本的格式并解析出其中的字段
+     *
+     * @param text 文本
+     * @return 未经校验的字段
+     * @throws DateTimeParseException 所有的格式都不匹配
+     */
+    TemporalAccessor parse(String text) {
+        final TemporalAccessor fields = tryParse(text);
+        if (fields == null) {
+            throw new DateTimeParseException("Text '" + text + "' could not be parsed", text, 0);
+        }
+        return fields;
+    }
+
+    /**
+     * 与 {@link #parse(String)} 相同，但是所有的格式都不匹配时返回 {@code null}
+     *
+     * @param text 文本
+     * @return 未经校验的字段，不匹配时为 {@code null}
+     */
+    TemporalAccessor tryParse(String text) {
+        final int dominant = this.dominant;
+        if (dominant >= 0) {
+            final TemporalAccessor fields = tryParse(dominant, text);
+            if (fields != null) {
+                return fields;
+            }
+        }
+        for (int i = 0; i < formats.length; i++) {
+            if (i == dominant) {
+                continue;
+            }
+            final TemporalAccessor fields = tryParse(i, text);
+            if (fields != null) {
+                if (dominant < 0) {
+                    learn(i);
+                }
+                return fields;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 匹配次数最多的格式，统计结束前为 {@code null}
+     */
+    DateTimeFormatter dominantFormat() {
+        final int dominant = this.dominant;
+        return dominant < 0 ? null : formats[dominant];
+    }
+
+    private TemporalAccessor tryParse(int index, String text) {
+        final ParsePosition position = new ParsePosition(0);
+        final TemporalAccessor fields = formats[index].parseUnresolved(text, position);
+        return fields != null && position.getErrorIndex() < 0 && position.getIndex() == text.length() ? fields : null;
+    }
+
+    /**
+     * 记录一次匹配，第 {@link #LEARN_SAMPLES} 次匹配时固定匹配次数最多的格式（次数相同时取靠前的格式）
+     *
+     * @param index 匹配的格式的下标
+     */
+    private void learn(int index) {
+        hits.incrementAndGet(index);
+        if (samples.incrementAndGet() != LEARN_SAMPLES) {
+            return;
+        }
+        int max = 0;
+        for (int i = 1; i < formats.length; i++) {
+            if (hits.get(i) > hits.get(max)) {
+                max = i;
+            }
+        }
+        dominant = max;
+    }
+
+    /**
+     * @param fields {@link #parse(String)} 解析出的字段，需要包含年月日
+     * @param text   原始文本
+     * @return 日期
+     * @throws DateTimeParseException 日期无效
+     */
+    static LocalDate toLocalDate(TemporalAccessor fields, String text) {
+        try {
+            return LocalDate.of(
+                    ChronoField.YEAR.checkValidIntValue(fields.getLong(ChronoField.YEAR)),
+                    ChronoField.MONTH_OF_YEAR.checkValidIntValue(fields.getLong(ChronoField.MONTH_OF_YEAR)),
+                    ChronoField.DAY_OF_MONTH.checkValidIntValue(fields.getLong(ChronoField.DAY_OF_MONTH)));
+        } catch (DateTimeException e) {
+            throw new DateTimeParseException(e.getMessage(), text, 0, e);
+        }
+    }
+
+    /**
+     * @param fields {@link #parse(String)} 解析出的字段，不包含的时间字段为 0
+     * @param text   原始文本
+     * @return 时间
+     * @throws DateTimeParseException 时间无效
+     */
+    static LocalTime toLocalTime(TemporalAccessor fields, String text) {
+        try {
+            return LocalTime.of(
+                    getInt(fields, ChronoField.HOUR_OF_DAY),
+                    getInt(fields, ChronoField.MINUTE_OF_HOUR),
+                    getInt(fields, ChronoField.SECOND_OF_MINUTE),
+                    getInt(fields, ChronoField.NANO_OF_SECOND));
+        } catch (DateTimeException e) {
+            throw new DateTimeParseException(e.getMessage(), text, 0, e);
+        }
+    }
+
+    private static int getInt(TemporalAccessor fields, ChronoField field) {
+        return fields.isSupported(field) ? field.checkValidIntValue(fields.getLong(field)) : 0;
+    }
+
+    private static DateTimeFormatter dateTime(char dateSeparator, char timeSeparator, boolean optionalTime) {
+        final DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder()
+                .appendValue(ChronoField.YEAR, 4)
+                .appendLiteral(dateSeparator)
+                .appendValue(ChronoField.MONTH_OF_YEAR, 1, 2, SignStyle.NOT_NEGATIVE)
+                .appendLiteral(dateSeparator)
+                .appendValue(ChronoField.DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE);
+        if (optionalTime) {
+            builder.optionalStart();
+        }
+        builder.appendLiteral(timeSeparator);
+        appendTime(builder);
+        if (optionalTime) {
+            builder.optionalEnd();
+        }
+        return builder.toFormatter();
+    }
+
+    private static DateTimeFormatterBuilder appendTime(DateTimeFormatterBuilder builder) {
+        return builder
+                .appendValue(ChronoField.HOUR_OF_DAY, 1, 2, SignStyle.NOT_NEGATIVE)
+                .appendLiteral(':')
+                .appendValue(ChronoField.MINUTE_OF_HOUR, 1, 2, SignStyle.NOT_NEGATIVE)
+                .optionalStart()
+                .appendLiteral(':')
+                .appendValue(ChronoField.SECOND_OF_MINUTE, 1, 2, SignStyle.NOT_NEGATIVE)
+                .optionalStart()
+                .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+                .optionalEnd()
+                .optionalEnd();
+    }
+}
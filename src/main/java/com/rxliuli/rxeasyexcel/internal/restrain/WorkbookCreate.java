@@ -1,5 +1,6 @@
 package com.rxliuli.rxeasyexcel.internal.restrain;
 
+import com.rxliuli.rxeasyexcel.domain.ExcelWritePolicy;
 import org.apache.poi.ss.usermodel.Workbook;
 
 /**
@@ -14,7 +15,18 @@ public interface WorkbookCreate {
      * @param mayRowCount 预测的数据量
      * @return workbook
      */
-    Workbook workbook(int mayRowCount);
+    default Workbook workbook(int mayRowCount) {
+        return workbook(mayRowCount, ExcelWritePolicy.DEFAULT);
+    }
+
+    /**
+     * 根据写入策略创建对应的workbook
+     *
+     * @param mayRowCount 预测的数据量
+     * @param policy      写入策略
+     * @return workbook
+     */
+    Workbook workbook(int mayRowCount, ExcelWritePolicy policy);
 
 }
 
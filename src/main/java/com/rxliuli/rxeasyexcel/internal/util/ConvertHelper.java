@@ -4,16 +4,25 @@ package com.rxliuli.rxeasyexcel.internal.util;
 import com.rxliuli.rxeasyexcel.ExcelException;
 import com.rxliuli.rxeasyexcel.domain.convert.IConverter;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * @author Quding Ding
  * @since 2018/5/28
  */
 public class ConvertHelper {
 
-    private static final Map<String, IConverter> CONVERT_BEAN_MAP = new HashMap<>(10);
+    /**
+     * 转换器类型对应的实例，查找时不加锁，首次创建时并发的线程可能各自创建实例，但是只会保留一个
+     */
+    private static final ClassValue<IConverter<?>> CONVERT_BEANS = new ClassValue<IConverter<?>>() {
+        @Override
+        protected IConverter<?> computeValue(Class<?> type) {
+            try {
+                return (IConverter<?>) type.newInstance();
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new ExcelException(e);
+            }
+        }
+    };
 
     /**
      * get writerConvert, if not exist, new instance
@@ -23,21 +32,7 @@ public class ConvertHelper {
      */
     @SuppressWarnings("unchecked")
     public static <R extends IConverter> R getConvert(Class<? extends IConverter> clazz) {
-        IConverter bean = CONVERT_BEAN_MAP.get(clazz.getName());
-        if (null == bean) {
-            synchronized (CONVERT_BEAN_MAP) {
-                bean = CONVERT_BEAN_MAP.get(clazz.getName());
-                if (null == bean) {
-                    try {
-                        bean = clazz.newInstance();
-                        CONVERT_BEAN_MAP.put(clazz.getName(), bean);
-                    } catch (InstantiationException | IllegalAccessException e) {
-                        throw new ExcelException(e);
-                    }
-                }
-            }
-        }
-        return (R) bean;
+        return (R) CONVERT_BEANS.get(clazz);
     }
 
 }
@@ -3,21 +3,27 @@ package com.rxliuli.rxeasyexcel.internal.util;
 import com.rxliuli.rxeasyexcel.ExcelException;
 import com.rxliuli.rxeasyexcel.annotation.ExcelField;
 import com.rxliuli.rxeasyexcel.annotation.ExcelIgnore;
+import com.rxliuli.rxeasyexcel.domain.ExcelCellStyle;
 import com.rxliuli.rxeasyexcel.domain.ExcelReadHeader;
 import com.rxliuli.rxeasyexcel.domain.ExcelWriteContext;
 import com.rxliuli.rxeasyexcel.domain.ExcelWriterHeader;
-import com.rxliuli.rxeasyexcel.domain.convert.ConverterFactory;
+import com.rxliuli.rxeasyexcel.domain.convert.ConverterRegistry;
 import com.rxliuli.rxeasyexcel.domain.convert.IConverter;
 import com.rxliuli.rxeasyexcel.domain.convert.NotSpecifyConverter;
 import com.rxliuli.rxeasyexcel.domain.select.SelectMapFactory;
 import com.rxliuli.rxeasyexcel.internal.util.tuple.Tuple;
 import com.rxliuli.rxeasyexcel.internal.util.tuple.Tuple3;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.poi.hssf.usermodel.HSSFDateUtil;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
 import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
 
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -32,6 +38,26 @@ import java.util.stream.Stream;
 public class ExcelBeanHelper {
 
     private static final String NULL_VAL = "";
+    /**
+     * Excel 数字单元格能够精确保存的最大整数（15 位有效数字）
+     */
+    public static final long MAX_EXACT_NUMERIC = 999_999_999_999_999L;
+    /**
+     * {@link DecimalFormat} 不是线程安全的，每个线程复用一个实例
+     */
+    private static final ThreadLocal<DecimalFormat> NUMERIC_FORMAT = ThreadLocal.withInitial(() -> new DecimalFormat("#"));
+    /**
+     * 每个类导出时需要读取的字段，只在第一次导出该类时计算
+     */
+    private static final ClassValue<List<FieldAccessor>> EXPORT_ACCESSORS = new ClassValue<List<FieldAccessor>>() {
+        @Override
+        protected List<FieldAccessor> computeValue(Class<?> type) {
+            return getSortedFieldStream(type)
+                    .filter(x -> !Objects.equals(x.getName(), "this$0"))
+                    .map(FieldAccessor::of)
+                    .collect(Collectors.toList());
+        }
+    };
 
     /**
      * bean转Map函数,支持使用自定义注解
@@ -55,6 +81,39 @@ public class ExcelBeanHelper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 将一个 bean 转换为 Map，支持使用自定义注解
+     *
+     * @param bean 对应的 bean，已经是 Map 时直接返回
+     * @return map中 key 属性名  属性值
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> beanToRowMap(Object bean) {
+        if (bean instanceof Map) {
+            return (Map<String, Object>) bean;
+        }
+        return toMap(bean);
+    }
+
+    /**
+     * 获取与指定字段名一一对应的导出字段读写器
+     *
+     * @param clazz      bean 类型
+     * @param fieldNames 字段名
+     * @return 读写器，不存在的字段为 {@code null}
+     */
+    public static FieldAccessor[] getExportFieldAccessors(Class<?> clazz, String[] fieldNames) {
+        final Map<String, FieldAccessor> accessorMap = new HashMap<>();
+        for (FieldAccessor accessor : EXPORT_ACCESSORS.get(clazz)) {
+            accessorMap.put(accessor.getField().getName(), accessor);
+        }
+        final FieldAccessor[] result = new FieldAccessor[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            result[i] = accessorMap.get(fieldNames[i]);
+        }
+        return result;
+    }
+
     /**
      * 通过bean拿到对应的excel header
      *
@@ -80,9 +139,9 @@ public class ExcelBeanHelper {
         // 为bean情况 获取到所有字段
         return getSortedFieldStream(clazz, context)
                 .map(x -> {
-                    final Tuple3<String, ? extends IConverter, ExcelField> triple = castHeaderNameAndConverter(x);
+                    final Tuple3<String, ? extends IConverter, ExcelField> triple = castHeaderNameAndConverter(x, context.getConverterRegistry());
                     Class selectClass = getSelectClass(triple);
-                    return Tuple.of(x.getName(), ExcelWriterHeader.create(triple.getV1(), triple.getV2(), SelectMapFactory.get(selectClass, context), triple.getV3().type(), triple.getV3().prompt()));
+                    return Tuple.of(x.getName(), ExcelWriterHeader.create(triple.getV1(), triple.getV2(), SelectMapFactory.get(selectClass, context), triple.getV3().type(), triple.getV3().prompt(), getCellStyle(triple.getV2(), triple.getV3())));
                 })
                 .collect(LinkedHashMap::new, (l, v) -> l.put(v.getV1(), v.getV2()), HashMap::putAll);
     }
@@ -95,15 +154,47 @@ public class ExcelBeanHelper {
      * @return 读操作header, key columnName value ExcelReadHeader
      */
     public static <T> Map<String, ExcelReadHeader> beanToReaderHeaders(Class<T> clazz) {
+        return beanToReaderHeaders(clazz, ConverterRegistry.global());
+    }
+
+    /**
+     * bean转为对应的读操作header
+     *
+     * @param clazz      实体类型
+     * @param converters 未在注解中指定转换器时查找转换器的注册表
+     * @param <T>        实体类型
+     * @return 读操作header, key columnName value ExcelReadHeader
+     */
+    public static <T> Map<String, ExcelReadHeader> beanToReaderHeaders(Class<T> clazz, ConverterRegistry converters) {
         return getSortedFieldStream(clazz)
                 .map(x -> {
-                    final Tuple3<String, ? extends IConverter<Object>, ExcelField> tuple3 = castHeaderNameAndConverter(x);
+                    final Tuple3<String, ? extends IConverter<Object>, ExcelField> tuple3 = castHeaderNameAndConverter(x, converters);
                     Class selectClass = getSelectClass(tuple3);
                     return Tuple.of(tuple3.getV1(), ExcelReadHeader.create(x, tuple3.getV2(), SelectMapFactory.getReverse(selectClass), tuple3.getV3().type()));
                 })
                 .collect(HashMap::new, (l, v) -> l.put(v.getV1(), v.getV2()), HashMap::putAll);
     }
 
+    /**
+     * 获取数据单元格的样式，注解中指定的属性优先于转换器中的样式
+     *
+     * @param convert    转换器
+     * @param excelField 注解
+     * @return 单元格的样式，未指定时为 {@code null}
+     */
+    private static ExcelCellStyle getCellStyle(IConverter<?> convert, ExcelField excelField) {
+        ExcelCellStyle style = convert.cellStyle();
+        if (StringUtils.isNotEmpty(excelField.dataFormat())) {
+            style = ExcelCellStyle.of().merge(style).dataFormat(excelField.dataFormat());
+        }
+        if (excelField.fillColor() != IndexedColors.AUTOMATIC) {
+            style = ExcelCellStyle.of().merge(style)
+                    .fillPattern(FillPatternType.SOLID_FOREGROUND)
+                    .fillForegroundColor(excelField.fillColor());
+        }
+        return style;
+    }
+
     /**
      * 获取下拉框获取数据类类型，优先处理字符串类类型
      *
@@ -141,18 +232,19 @@ public class ExcelBeanHelper {
     /**
      * 从字段中获取到对应的表头名字与转换器
      *
-     * @param field 字段
+     * @param field      字段
+     * @param converters 未在注解中指定转换器时查找转换器的注册表
      * @return 使用 {@link Tuple3} 封装的两个字段
      */
-    private static Tuple3<String, ? extends IConverter<Object>, ExcelField> castHeaderNameAndConverter(Field field) {
+    @SuppressWarnings("unchecked")
+    private static Tuple3<String, ? extends IConverter<Object>, ExcelField> castHeaderNameAndConverter(Field field, ConverterRegistry converters) {
         field.setAccessible(true);
         ExcelField excelField = field.getAnnotation(ExcelField.class);
         // 如果 convertClass 未指定，则根据字段类型获取对应的默认转换器
         Class<? extends IConverter> convertClass = excelField.converter();
-        if (NotSpecifyConverter.class.equals(convertClass)) {
-            convertClass = ConverterFactory.get(field.getType());
-        }
-        final IConverter<Object> convert = ConvertHelper.getConvert(convertClass);
+        final IConverter<Object> convert = NotSpecifyConverter.class.equals(convertClass)
+                ? (IConverter<Object>) converters.getConverter(field.getType())
+                : ConvertHelper.getConvert(convertClass);
         final String columnName = excelField.columnName();
         final String name = StringUtils.isEmpty(columnName) ? field.getName() : columnName;
         return Tuple.of(name, convert, excelField);
@@ -168,7 +260,15 @@ public class ExcelBeanHelper {
         if (null == value) {
             return;
         }
-        cell.setCellValue(String.valueOf(value));
+        if (value instanceof Number) {
+            cell.setCellValue(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+        } else if (value instanceof Date) {
+            cell.setCellValue((Date) value);
+        } else {
+            cell.setCellValue(String.valueOf(value));
+        }
     }
 
     /**
@@ -187,37 +287,37 @@ public class ExcelBeanHelper {
     }
 
     public static void fieldSetValue(Field field, Object target, Object value) {
-        try {
-            field.setAccessible(true);
-            // 如果字段值为空则不进行设置
-            if (value == null) {
-                return;
-            }
-            field.set(target, value);
-        } catch (IllegalAccessException e) {
-            throw new ExcelException(e);
+        // 如果字段值为空则不进行设置
+        if (value == null) {
+            return;
         }
+        FieldAccessor.of(field).set(target, value);
     }
 
     public static String getColumnValue(Cell cell) {
+        return toColumnString(getTypedColumnValue(cell));
+    }
+
+    /**
+     * 获取单元格的值，数字、日期与布尔类型的单元格保留原本的类型，不需要先转换为字符串
+     *
+     * @param cell 单元格
+     * @return 单元格的值，类型为 {@link String}/{@link Double}/{@link Date}/{@link Boolean}，空值或者错误为 {@code null}
+     */
+    public static Object getTypedColumnValue(Cell cell) {
         switch (cell.getCellTypeEnum()) {
             case STRING:
             case FORMULA:
             case BLANK:
                 return cell.getStringCellValue();
             case NUMERIC:
-                //判断是否日期
-                if (HSSFDateUtil.isCellDateFormatted(cell)) {
-                    Date date = HSSFDateUtil.getJavaDate(cell.getNumericCellValue());
-                    return Objects.toString(date.getTime());
+                final CellStyle style = cell.getCellStyle();
+                if (style == null) {
+                    return getTypedNumericColumnValue(cell.getNumericCellValue(), 0, null);
                 }
-//                Object res = value;
-//                if (value == (int) value) {
-//                    res = (int) value;
-//                }
-                return new DecimalFormat("#").format(cell.getNumericCellValue());
+                return getTypedNumericColumnValue(cell.getNumericCellValue(), style.getDataFormat(), style.getDataFormatString());
             case BOOLEAN:
-                return Objects.toString(cell.getBooleanCellValue());
+                return cell.getBooleanCellValue();
             case _NONE:
             case ERROR:
             default:
@@ -225,6 +325,60 @@ public class ExcelBeanHelper {
         }
     }
 
+    /**
+     * 获取数字类型单元格的值，与单元格的来源（usermodel/事件模型）无关
+     *
+     * @param value        单元格的值
+     * @param formatIndex  单元格格式的索引
+     * @param formatString 单元格格式
+     * @return 日期类型返回时间戳，否则返回四舍五入后的整数
+     */
+    public static String getNumericColumnValue(double value, int formatIndex, String formatString) {
+        return toColumnString(getTypedNumericColumnValue(value, formatIndex, formatString));
+    }
+
+    /**
+     * 获取数字类型单元格的值，与单元格的来源（usermodel/事件模型）无关
+     *
+     * @param value        单元格的值
+     * @param formatIndex  单元格格式的索引
+     * @param formatString 单元格格式
+     * @return 日期类型返回 {@link Date}，否则返回 {@link Double}
+     */
+    public static Object getTypedNumericColumnValue(double value, int formatIndex, String formatString) {
+        //判断是否日期
+        if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+            return DateUtil.getJavaDate(value);
+        }
+        return value;
+    }
+
+    /**
+     * 将单元格的值转换为字符串，日期为时间戳，数字为四舍五入后的整数
+     *
+     * @param value {@link #getTypedColumnValue(Cell)} 得到的值
+     * @return 字符串形式的值
+     */
+    public static String toColumnString(Object value) {
+        if (value instanceof Double) {
+            return formatNumeric((Double) value);
+        }
+        if (value instanceof Date) {
+            return Long.toString(((Date) value).getTime());
+        }
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * 将数字格式化为四舍五入后的整数
+     *
+     * @param value 数字
+     * @return 整数字符串
+     */
+    public static String formatNumeric(double value) {
+        return NUMERIC_FORMAT.get().format(value);
+    }
+
     /**
      * bean to map
      *
@@ -232,22 +386,80 @@ public class ExcelBeanHelper {
      * @return map key is bean filed name,value is the filed value
      */
     private static <T> Map<String, Object> toMap(T bean) {
-        return getSortedFieldStream(bean.getClass())
-                .map(x -> {
-                    x.setAccessible(true);
-                    try {
-                        return Tuple.of(x.getName(), x.get(bean));
-                    } catch (IllegalAccessException e) {
-                        // do nothing
-                    }
-                    return null;
-                })
-                .filter(x -> x != null && !Objects.equals(x.getV1(), "this$0"))
-                .collect(HashMap::new, (l, v) -> l.put(v.getV1(), v.getV2()), HashMap::putAll);
+        final List<FieldAccessor> accessors = EXPORT_ACCESSORS.get(bean.getClass());
+        final Map<String, Object> map = new HashMap<>(accessors.size() * 4 / 3 + 1);
+        for (FieldAccessor accessor : accessors) {
+            map.put(accessor.getField().getName(), accessor.get(bean));
+        }
+        return map;
     }
 
     public static void autoColumnWidth(Sheet sheet, int columnIndex) {
-        sheet.autoSizeColumn(columnIndex);
+        if (sheet instanceof SXSSFSheet) {
+            // 流式写入的 sheet 只能对已经跟踪的列计算宽度，计算完成后不再跟踪，避免之后的每一行都需要计算
+            final SXSSFSheet sxssfSheet = (SXSSFSheet) sheet;
+            sxssfSheet.trackColumnForAutoSizing(columnIndex);
+            sxssfSheet.autoSizeColumn(columnIndex);
+            sxssfSheet.untrackColumnForAutoSizing(columnIndex);
+        } else {
+            sheet.autoSizeColumn(columnIndex);
+        }
         sheet.setColumnWidth(columnIndex, sheet.getColumnWidth(columnIndex) * 17 / 10);
     }
+
+    /**
+     * 估算文本显示时占用的字符宽度，全角字符（中文等）按照两个字符计算，多行文本取最长的一行
+     *
+     * @param text 文本
+     * @return 字符宽度
+     */
+    public static int estimateTextWidth(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int max = 0;
+        int width = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            final char c = text.charAt(i);
+            if (c == '\n') {
+                max = Math.max(max, width);
+                width = 0;
+            } else if (c < 0x2E80 || (c >= 0xFF61 && c <= 0xFFDC)) {
+                width++;
+            } else if (!Character.isLowSurrogate(c)) {
+                width += 2;
+            }
+        }
+        return Math.max(max, width);
+    }
+
+    /**
+     * 估算单元格的值显示时占用的字符宽度
+     *
+     * @param value {@link #autoFitCell(Cell, Object)} 写入的值
+     * @return 字符宽度，日期按照 {@code yyyy-mm-dd hh:mm:ss} 计算
+     */
+    public static int estimateTextWidth(Object value) {
+        if (value == null || value instanceof String) {
+            return estimateTextWidth((String) value);
+        }
+        if (value instanceof Date) {
+            return 19;
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString().length();
+        }
+        return value.toString().length();
+    }
+
+    /**
+     * 根据字符宽度设置列宽，两侧各预留一个字符，不超过 Excel 允许的最大列宽
+     *
+     * @param sheet       sheet
+     * @param columnIndex 列
+     * @param textWidth   {@link #estimateTextWidth(String)} 计算的字符宽度
+     */
+    public static void estimateColumnWidth(Sheet sheet, int columnIndex, int textWidth) {
+        sheet.setColumnWidth(columnIndex, Math.min(textWidth + 2, 255) * 256);
+    }
 }
@@ -0,0 +1,242 @@
+package com.rxliuli.rxeasyexcel.internal.util;
+
+import com.rxliuli.rxeasyexcel.ExcelException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 字段的读写器，使用 {@link MethodHandle} 代替 {@link Field#get(Object)}/{@link Field#set(Object, Object)}
+ * 每个类的全部字段只会在第一次使用时创建一次读写器，之后读写字段不再需要访问检查
+ *
+ * @author rxliuli
+ */
+public final class FieldAccessor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    /**
+     * 按照声明字段的类缓存读写器，类被卸载时缓存也会一起被回收
+     */
+    private static final ClassValue<Map<Field, FieldAccessor>> ACCESSORS = new ClassValue<Map<Field, FieldAccessor>>() {
+        @Override
+        protected Map<Field, FieldAccessor> computeValue(Class<?> type) {
+            return Collections.unmodifiableMap(Arrays.stream(type.getDeclaredFields())
+                    .collect(Collectors.toMap(Function.identity(), FieldAccessor::new)));
+        }
+    };
+
+    private final Field field;
+    /**
+     * 类型为 (Object)Object
+     */
+    private final MethodHandle getter;
+    /**
+     * 类型为 (Object,Object)void，常量字段无法设置时为 {@code null}
+     */
+    private final MethodHandle setter;
+    /**
+     * 不装箱的读写，类型为 (Object)X 与 (Object,X)void，X 为 int、long 或者 double，其它类型的字段为 {@code null}
+     */
+    private final MethodHandle primitiveGetter;
+    private final MethodHandle primitiveSetter;
+
+    private FieldAccessor(Field field) {
+        this.field = field;
+        field.setAccessible(true);
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final boolean isStatic = Modifier.isStatic(field.getModifiers());
+        final Class<?> type = field.getType();
+        final boolean primitive = type == int.class || type == long.class || type == double.class;
+        try {
+            MethodHandle getter = lookup.unreflectGetter(field);
+            if (isStatic) {
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            }
+            this.getter = getter.asType(GETTER_TYPE);
+            this.primitiveGetter = primitive ? getter.asType(MethodType.methodType(type, Object.class)) : null;
+        } catch (IllegalAccessException e) {
+            throw new ExcelException(e);
+        }
+        MethodHandle setter;
+        MethodHandle primitiveSetter;
+        try {
+            setter = lookup.unreflectSetter(field);
+            if (isStatic) {
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            primitiveSetter = primitive ? setter.asType(MethodType.methodType(void.class, Object.class, type)) : null;
+            setter = setter.asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            // static final 的字段不允许设置
+            setter = null;
+            primitiveSetter = null;
+        }
+        this.setter = setter;
+        this.primitiveSetter = primitiveSetter;
+    }
+
+    /**
+     * 获取字段对应的读写器
+     *
+     * @param field 字段
+     * @return 读写器
+     */
+    public static FieldAccessor of(Field field) {
+        return ACCESSORS.get(field.getDeclaringClass()).get(field);
+    }
+
+    /**
+     * 读取字段的值
+     *
+     * @param target 对象
+     * @return 字段的值
+     */
+    public Object get(Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    /**
+     * 设置字段的值
+     *
+     * @param target 对象
+     * @param value  字段的值
+     */
+    public void set(Object target, Object value) {
+        if (setter == null) {
+            throw new ExcelException("无法设置的字段: " + field);
+        }
+        try {
+            setter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    /**
+     * 读取 int 字段的值，不会装箱
+     *
+     * @param target 对象
+     * @return 字段的值
+     */
+    public int getInt(Object target) {
+        checkPrimitive(int.class, primitiveGetter);
+        try {
+            return (int) primitiveGetter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    /**
+     * 读取 long 字段的值，不会装箱
+     *
+     * @param target 对象
+     * @return 字段的值
+     */
+    public long getLong(Object target) {
+        checkPrimitive(long.class, primitiveGetter);
+        try {
+            return (long) primitiveGetter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    /**
+     * 读取 double 字段的值，不会装箱
+     *
+     * @param target 对象
+     * @return 字段的值
+     */
+    public double getDouble(Object target) {
+        checkPrimitive(double.class, primitiveGetter);
+        try {
+            return (double) primitiveGetter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    /**
+     * 设置 int 字段的值，不会装箱
+     *
+     * @param target 对象
+     * @param value  字段的值
+     */
+    public void setInt(Object target, int value) {
+        checkPrimitive(int.class, primitiveSetter);
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    /**
+     * 设置 long 字段的值，不会装箱
+     *
+     * @param target 对象
+     * @param value  字段的值
+     */
+    public void setLong(Object target, long value) {
+        checkPrimitive(long.class, primitiveSetter);
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    /**
+     * 设置 double 字段的值，不会装箱
+     *
+     * @param target 对象
+     * @param value  字段的值
+     */
+    public void setDouble(Object target, double value) {
+        checkPrimitive(double.class, primitiveSetter);
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    private void checkPrimitive(Class<?> type, MethodHandle handle) {
+        if (field.getType() != type || handle == null) {
+            throw new ExcelException("字段不是可以读写的 " + type + " 类型: " + field);
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+}
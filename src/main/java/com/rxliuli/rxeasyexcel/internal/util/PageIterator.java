@@ -0,0 +1,53 @@
+package com.rxliuli.rxeasyexcel.internal.util;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * 分页获取数据的迭代器，只有在上一页遍历完之后才会获取下一页
+ * 页码从 1 开始，获取到空页（或者 {@code null}）时结束
+ *
+ * @param <T> 元素类型
+ * @author rxliuli
+ */
+public class PageIterator<T> implements Iterator<T> {
+    private final IntFunction<? extends List<T>> pageFetcher;
+    private int pageNum = 0;
+    private Iterator<T> current = Collections.emptyIterator();
+    private boolean finished = false;
+
+    /**
+     * @param pageFetcher 根据页码获取一页数据
+     */
+    public PageIterator(IntFunction<? extends List<T>> pageFetcher) {
+        Assert.notNull(pageFetcher, "pageFetcher can't be null");
+        this.pageFetcher = pageFetcher;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (finished) {
+                return false;
+            }
+            final List<T> page = pageFetcher.apply(++pageNum);
+            if (page == null || page.isEmpty()) {
+                finished = true;
+                return false;
+            }
+            current = page.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+}
@@ -0,0 +1,161 @@
+package com.rxliuli.rxeasyexcel.internal.util;
+
+import com.rxliuli.rxeasyexcel.ExcelException;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * 在后台预先获取下一页数据的分页迭代器，获取数据与写入单元格可以同时进行
+ * 页码从 1 开始，获取到空页（或者 {@code null}）时结束，最多预先获取 prefetchPages 页，队列满时生产者会等待消费者
+ * 注: 未遍历完时需要调用 {@link #close()} 结束生产者
+ *
+ * @param <T> 元素类型
+ * @author rxliuli
+ */
+public class PrefetchPageIterator<T> implements Iterator<T>, AutoCloseable {
+    /**
+     * 生产者检查是否已经关闭的间隔
+     */
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    /**
+     * 数据已经获取完毕的标记
+     */
+    private static final Object END = new Object();
+
+    private final IntFunction<? extends List<T>> pageFetcher;
+    private final Executor executor;
+    /**
+     * 已经获取的页，元素为 List、{@link #END} 或者 {@link Failure}
+     */
+    private final BlockingQueue<Object> queue;
+    private Iterator<T> current = Collections.emptyIterator();
+    private boolean started = false;
+    private boolean finished = false;
+    private volatile boolean closed = false;
+
+    /**
+     * @param pageFetcher   根据页码获取一页数据，在生产者线程中调用
+     * @param prefetchPages 最多预先获取的页数
+     * @param executor      运行生产者的线程池，为 {@code null} 时使用一个新的守护线程
+     */
+    public PrefetchPageIterator(IntFunction<? extends List<T>> pageFetcher, int prefetchPages, Executor executor) {
+        Assert.notNull(pageFetcher, "pageFetcher can't be null");
+        Assert.state(prefetchPages > 0, "prefetchPages must be positive");
+        this.pageFetcher = pageFetcher;
+        this.executor = executor;
+        this.queue = new ArrayBlockingQueue<>(prefetchPages);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (finished) {
+                return false;
+            }
+            final Object page = take();
+            if (page == END) {
+                finished = true;
+                return false;
+            }
+            if (page instanceof Failure) {
+                finished = true;
+                final Throwable cause = ((Failure) page).cause;
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : new ExcelException(cause);
+            }
+            @SuppressWarnings("unchecked") final List<T> list = (List<T>) page;
+            current = list.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * 停止获取数据并丢弃已经获取的页，可以重复调用
+     */
+    @Override
+    public void close() {
+        closed = true;
+        finished = true;
+        current = Collections.emptyIterator();
+        queue.clear();
+    }
+
+    private Object take() {
+        if (!started) {
+            started = true;
+            if (executor == null) {
+                final Thread thread = new Thread(this::produce, "rx-easy-excel-prefetch");
+                thread.setDaemon(true);
+                thread.start();
+            } else {
+                executor.execute(this::produce);
+            }
+        }
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new ExcelException("interrupted while waiting for the next page", e);
+        }
+    }
+
+    /**
+     * 生产者，依次获取每一页放入队列，直到空页、异常或者关闭
+     */
+    private void produce() {
+        int pageNum = 0;
+        try {
+            while (!closed) {
+                final List<T> page = pageFetcher.apply(++pageNum);
+                if (page == null || page.isEmpty()) {
+                    put(END);
+                    return;
+                }
+                put(page);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            try {
+                put(new Failure(e));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void put(Object page) throws InterruptedException {
+        while (!closed) {
+            if (queue.offer(page, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 获取数据时抛出的异常，由消费者重新抛出
+     */
+    private static class Failure {
+        private final Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
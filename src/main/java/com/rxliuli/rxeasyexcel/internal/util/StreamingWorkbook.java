@@ -0,0 +1,158 @@
+package com.rxliuli.rxeasyexcel.internal.util;
+
+import com.rxliuli.rxeasyexcel.domain.ExcelWritePolicy;
+import com.rxliuli.rxeasyexcel.domain.TempFileQuota;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.streaming.GZIPSheetDataWriter;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 根据 {@link ExcelWritePolicy} 创建的流式写入工作簿
+ * sheet 的临时文件会写到策略指定的目录中，写入的字节数计入策略的 {@link TempFileQuota}，{@link #dispose()} 时释放
+ *
+ * @author rxliuli
+ */
+public class StreamingWorkbook extends SXSSFWorkbook {
+    private final ExcelWritePolicy policy;
+    /**
+     * 该工作簿的临时文件的总大小
+     */
+    private final AtomicLong tempBytes = new AtomicLong();
+    /**
+     * 是否正在删除临时文件，此时关闭临时文件时写入的剩余内容会被丢弃
+     */
+    private volatile boolean disposing = false;
+
+    public StreamingWorkbook(ExcelWritePolicy policy) {
+        super(new XSSFWorkbook(), policy.getRowAccessWindowSize(), policy.isCompressTempFiles(), policy.isUseSharedStringsTable());
+        this.policy = policy;
+    }
+
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        if (policy.getTempDirectory() != null) {
+            Files.createDirectories(policy.getTempDirectory().toPath());
+        }
+        final SharedStringsTable sharedStringsTable = policy.isUseSharedStringsTable()
+                ? getXSSFWorkbook().getSharedStringSource()
+                : null;
+        return policy.isCompressTempFiles()
+                ? new ManagedGZIPSheetDataWriter(sharedStringsTable)
+                : new ManagedSheetDataWriter(sharedStringsTable);
+    }
+
+    /**
+     * 删除所有的临时文件并释放配额
+     *
+     * @return 是否全部删除成功
+     */
+    @Override
+    public boolean dispose() {
+        disposing = true;
+        try {
+            return super.dispose();
+        } finally {
+            policy.getTempFileQuota().release(tempBytes.getAndSet(0));
+        }
+    }
+
+    /**
+     * @return 该工作簿当前的临时文件的总大小
+     */
+    public long getTempBytes() {
+        return tempBytes.get();
+    }
+
+    /*
+     * 以下方法会在 SheetDataWriter 的构造函数中调用，此时只能访问外部类的字段
+     */
+
+    private File createTempFile(String suffix) throws IOException {
+        final File file = policy.getTempDirectory() == null
+                ? TempFile.createTempFile("poi-sxssf-sheet", suffix)
+                : File.createTempFile("poi-sxssf-sheet", suffix, policy.getTempDirectory());
+        policy.getTempFileQuota().fileCreated();
+        return file;
+    }
+
+    private Writer createWriter(File fd, boolean compress) throws IOException {
+        final OutputStream out = new QuotaOutputStream(new FileOutputStream(fd));
+        try {
+            return new BufferedWriter(new OutputStreamWriter(compress ? new GZIPOutputStream(out) : out, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 写入前向配额申请空间的输出流
+     */
+    private class QuotaOutputStream extends FilterOutputStream {
+        QuotaOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!disposing) {
+                acquire(1);
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!disposing) {
+                acquire(len);
+                out.write(b, off, len);
+            }
+        }
+
+        private void acquire(int bytes) {
+            policy.getTempFileQuota().acquire(bytes);
+            tempBytes.addAndGet(bytes);
+        }
+    }
+
+    private class ManagedSheetDataWriter extends SheetDataWriter {
+        ManagedSheetDataWriter(SharedStringsTable sharedStringsTable) throws IOException {
+            super(sharedStringsTable);
+        }
+
+        @Override
+        public File createTempFile() throws IOException {
+            return StreamingWorkbook.this.createTempFile(".xml");
+        }
+
+        @Override
+        public Writer createWriter(File fd) throws IOException {
+            return StreamingWorkbook.this.createWriter(fd, false);
+        }
+    }
+
+    private class ManagedGZIPSheetDataWriter extends GZIPSheetDataWriter {
+        ManagedGZIPSheetDataWriter(SharedStringsTable sharedStringsTable) throws IOException {
+            super(sharedStringsTable);
+        }
+
+        @Override
+        public File createTempFile() throws IOException {
+            return StreamingWorkbook.this.createTempFile(".gz");
+        }
+
+        @Override
+        public Writer createWriter(File fd) throws IOException {
+            return StreamingWorkbook.this.createWriter(fd, true);
+        }
+    }
+}
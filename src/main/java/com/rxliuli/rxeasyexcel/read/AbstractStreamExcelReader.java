@@ -0,0 +1,59 @@
+package com.rxliuli.rxeasyexcel.read;
+
+import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
+import com.rxliuli.rxeasyexcel.domain.ExcelReadContext;
+import com.rxliuli.rxeasyexcel.domain.ImportDomain;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 基于事件模型的流式读取类的基类
+ * 子类只需要将对应格式的事件转换为 {@link SheetRowHandler} 的行事件，解析的结果与 {@link DefaultExcelReader} 一致
+ * 注: 由于不存在 {@link org.apache.poi.ss.usermodel.Sheet} 对象，{@link ExcelReadContext#getReadSheetHook()} 不会被调用
+ *
+ * @author rxliuli
+ */
+abstract class AbstractStreamExcelReader implements ExcelReader {
+
+    @Override
+    public <T> ImportDomain<T> resolve(ExcelReadContext<T> context) {
+        final List<T> resultContainer = new ArrayList<>();
+        final LinkedList<ExcelImportError> errorList = new LinkedList<>();
+        final SheetRowHandler<T> handler = new SheetRowHandler<>(context, resultContainer::add, errorList::add);
+        processSheet(context.getSheetIndex(), handler);
+        return new ImportDomain<>(resultContainer, errorList, handler.getColumnInfoMap());
+    }
+
+    @Override
+    public <T> Stream<T> stream(ExcelReadContext<T> context, Consumer<ExcelImportError> errorHandler) {
+        final AsyncRowIterator<T> iterator = new AsyncRowIterator<>(
+                (rowConsumer, errorConsumer) -> processSheet(context.getSheetIndex(), new SheetRowHandler<>(context, rowConsumer, errorConsumer)),
+                errorHandler);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    @Override
+    public <T> void resolve(ExcelReadContext<T> context, int batchSize, Consumer<ImportDomain<T>> batchConsumer) {
+        final BatchCollector<T> collector = new BatchCollector<>(batchSize, batchConsumer);
+        final SheetRowHandler<T> handler = new SheetRowHandler<>(context, collector::addRow, collector::addError);
+        collector.setColumnInfoMapSupplier(handler::getColumnInfoMap);
+        processSheet(context.getSheetIndex(), handler);
+        collector.finish();
+    }
+
+    /**
+     * 解析一张 sheet，并将其中的行事件交给 handler 处理
+     *
+     * @param sheetIndex sheet 索引
+     * @param handler    行事件的处理
+     */
+    abstract void processSheet(int sheetIndex, SheetRowHandler<?> handler);
+}
@@ -0,0 +1,196 @@
+package com.rxliuli.rxeasyexcel.read;
+
+import com.rxliuli.rxeasyexcel.ExcelException;
+import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 将基于事件（推送）的解析转换为迭代器（拉取）
+ * 解析在单独的线程中进行，解析出的行放入有界队列中，消费者通过迭代器逐行获取，
+ * 因此内存中最多只会同时存在队列容量的行数
+ * 注: 错误回调会在调用迭代器的线程中执行，且一定先于出错的行被回调
+ *
+ * @param <T> 行类型
+ * @author rxliuli
+ */
+class AsyncRowIterator<T> implements Iterator<T>, AutoCloseable {
+    /**
+     * 队列容量，即最多预先解析的行数
+     */
+    private static final int QUEUE_CAPACITY = 256;
+    /**
+     * 队列已满时检查是否已经关闭的间隔
+     */
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger(0);
+    /**
+     * 解析结束的标记
+     */
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    /**
+     * 解析函数，第一个参数为行的处理，第二个参数为错误的处理
+     */
+    private final BiConsumer<Consumer<T>, Consumer<ExcelImportError>> producer;
+    private final Consumer<ExcelImportError> errorHandler;
+    private volatile boolean closed = false;
+    private boolean started = false;
+    private boolean finished = false;
+    private T next;
+
+    /**
+     * @param producer     解析函数，第一个参数为行的处理，第二个参数为错误的处理
+     * @param errorHandler 错误的回调
+     */
+    AsyncRowIterator(BiConsumer<Consumer<T>, Consumer<ExcelImportError>> producer, Consumer<ExcelImportError> errorHandler) {
+        this.producer = producer;
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        start();
+        while (true) {
+            final Object item = take();
+            if (item == END) {
+                finished = true;
+                return false;
+            }
+            if (item instanceof Failure) {
+                finished = true;
+                final RuntimeException cause = ((Failure) item).cause;
+                throw cause instanceof ExcelException ? cause : new ExcelException(cause);
+            }
+            if (item instanceof ErrorItem) {
+                errorHandler.accept(((ErrorItem) item).error);
+                continue;
+            }
+            next = (T) item;
+            return true;
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final T result = next;
+        next = null;
+        return result;
+    }
+
+    /**
+     * 停止解析并释放队列，未读取完就放弃时必须调用
+     */
+    @Override
+    public void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    /**
+     * 在第一次读取时才开始解析
+     */
+    private void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        final Thread thread = new Thread(this::produce, "rx-easy-excel-reader-" + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void produce() {
+        try {
+            producer.accept(this::put, error -> put(new ErrorItem(error)));
+            put(END);
+        } catch (CancelledException ignored) {
+            // 已经关闭，直接结束
+        } catch (Throwable e) {
+            if (!closed) {
+                try {
+                    put(new Failure(e instanceof RuntimeException ? (RuntimeException) e : new ExcelException(e)));
+                } catch (CancelledException ignored) {
+                    // 已经关闭，直接结束
+                }
+            }
+        }
+    }
+
+    private Object take() {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new ExcelException(e);
+        }
+    }
+
+    /**
+     * 放入队列，队列已满时阻塞，直到有空位或者已经关闭
+     */
+    private void put(Object item) {
+        try {
+            while (!closed) {
+                if (queue.offer(item, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new CancelledException();
+    }
+
+    /**
+     * 解析过程中的错误
+     */
+    private static class ErrorItem {
+        private final ExcelImportError error;
+
+        ErrorItem(ExcelImportError error) {
+            this.error = error;
+        }
+    }
+
+    /**
+     * 解析失败
+     */
+    private static class Failure {
+        private final RuntimeException cause;
+
+        Failure(RuntimeException cause) {
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * 迭代器已经关闭，用于中断解析
+     */
+    private static class CancelledException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        CancelledException() {
+            super(null, null, false, false);
+        }
+    }
+}
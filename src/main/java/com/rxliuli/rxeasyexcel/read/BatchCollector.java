@@ -0,0 +1,84 @@
+package com.rxliuli.rxeasyexcel.read;
+
+import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
+import com.rxliuli.rxeasyexcel.domain.ImportDomain;
+import com.rxliuli.rxeasyexcel.internal.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 按批次收集解析出来的行，每满一批就交给消费者处理
+ * 错误总是先于出错的行被收集，因此错误与行总是在同一批次中
+ *
+ * @param <T> 行类型
+ * @author rxliuli
+ */
+class BatchCollector<T> {
+    /**
+     * 批次列表的最大初始容量，避免批次很大时预先分配过多的内存
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+    private final int batchSize;
+    private final Consumer<ImportDomain<T>> batchConsumer;
+    /**
+     * 列信息，需要在解析完表头之后才能确定
+     */
+    private Supplier<Map<String, Integer>> columnInfoMapSupplier = Collections::emptyMap;
+    private List<T> data;
+    private List<ExcelImportError> errors;
+
+    /**
+     * @param batchSize     每一批的行数
+     * @param batchConsumer 每一批的处理
+     */
+    BatchCollector(int batchSize, Consumer<ImportDomain<T>> batchConsumer) {
+        Assert.state(batchSize > 0, "batchSize must be greater than 0");
+        Assert.notNull(batchConsumer, "batchConsumer can't be null");
+        this.batchSize = batchSize;
+        this.batchConsumer = batchConsumer;
+        reset();
+    }
+
+    BatchCollector<T> setColumnInfoMapSupplier(Supplier<Map<String, Integer>> columnInfoMapSupplier) {
+        this.columnInfoMapSupplier = columnInfoMapSupplier;
+        return this;
+    }
+
+    void addRow(T row) {
+        data.add(row);
+        if (data.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    void addError(ExcelImportError error) {
+        errors.add(error);
+    }
+
+    /**
+     * 处理剩余不满一批的行，解析结束时必须调用
+     */
+    void finish() {
+        if (!data.isEmpty() || !errors.isEmpty()) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        final ImportDomain<T> batch = new ImportDomain<>(data, errors, columnInfoMapSupplier.get());
+        // 先重置再交给消费者，消费者可以持有该批次的数据
+        reset();
+        batchConsumer.accept(batch);
+    }
+
+    private void reset() {
+        this.data = new ArrayList<>(Math.min(batchSize, MAX_INITIAL_CAPACITY));
+        this.errors = new LinkedList<>();
+    }
+}
@@ -1,26 +1,27 @@
 package com.rxliuli.rxeasyexcel.read;
 
 import com.rxliuli.rxeasyexcel.ExcelException;
-import com.rxliuli.rxeasyexcel.annotation.ExcelField;
 import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
 import com.rxliuli.rxeasyexcel.domain.ExcelReadContext;
-import com.rxliuli.rxeasyexcel.domain.ExcelReadHeader;
 import com.rxliuli.rxeasyexcel.domain.ImportDomain;
 import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
-import org.apache.commons.collections4.map.LinkedMap;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Field;
-import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Quding Ding
@@ -44,95 +45,93 @@ public class DefaultExcelReader implements ExcelReader {
 
     }
 
+    /**
+     * 直接以只读的方式打开文件，POI 会随机访问文件，而不需要先将整个文件读到内存中
+     *
+     * @param file excel 文件
+     */
+    public DefaultExcelReader(File file) {
+        try {
+            this.workbook = WorkbookFactory.create(file, null, true);
+        } catch (IOException | InvalidFormatException e) {
+            throw new ExcelException(e);
+        }
+    }
+
     @Override
     public <T> ImportDomain<T> resolve(ExcelReadContext<T> context) {
-        Sheet sheet = this.workbook.getSheetAt(context.getSheetIndex());
-
-        // 读取之前的操作
-        context.getReadSheetHook().accept(sheet, context);
-
-        // 解析header
-        int startRow = context.getHeaderStart();
-        Row header = sheet.getRow(startRow++);
-        List<String> realHeaders = getHeaders(header);
-
-        int lastRowNum = sheet.getLastRowNum();
-        int totalCount = lastRowNum - header.getRowNum();
-        List<T> resultContainer = new ArrayList<>(totalCount);
-        Map<String, ExcelReadHeader> configHeaders = context.getHeaders();
+        if (context.getParallelExecutor() != null) {
+            return resolveParallel(context);
+        }
         final LinkedList<ExcelImportError> errorList = new LinkedList<>();
-        final LinkedMap<String, Integer> columnInfoMap = new LinkedMap<>();
-
-        //获取列信息
-        //添加列信息，只添加一次
-        final AtomicInteger colAddNum = new AtomicInteger(0);
-        header.cellIterator().forEachRemaining(x -> {
-            final int columnIndex = x.getColumnIndex();
-            final ExcelReadHeader tempHeader = configHeaders.get(realHeaders.get(columnIndex));
-            final Field field = tempHeader.getField();
-            columnInfoMap.put(field.getName(), columnIndex);
-            colAddNum.incrementAndGet();
-        });
+        final RowIterator<T> iterator = new RowIterator<>(context, errorList::add);
+        List<T> resultContainer = new ArrayList<>(iterator.getTotalCount());
+        iterator.forEachRemaining(resultContainer::add);
+        return new ImportDomain<>(resultContainer, errorList, iterator.getColumnInfoMap());
+    }
 
-        // 依次解析每一行
-        for (; startRow <= lastRowNum; startRow++) {
-            Row row = sheet.getRow(startRow);
-            T instance = ExcelBeanHelper.newInstance(context.getClazz());
-            final int i = startRow;
-            row.cellIterator().forEachRemaining(x -> {
-                final int columnIndex = x.getColumnIndex();
-                final ExcelReadHeader tempHeader = configHeaders.get(realHeaders.get(columnIndex));
-                final String columnValue = ExcelBeanHelper.getColumnValue(x);
-                // 如果字段值为空字符串则直接跳过
-                if (null == tempHeader || StringUtils.isEmpty(columnValue)) {
-                    return;
-                }
-                Object value = null;
-                final Field field = tempHeader.getField();
-                final ExcelField excelField = field.getAnnotation(ExcelField.class);
-                try {
-                    switch (tempHeader.getType()) {
-                        case TEXT:
-                            value = tempHeader.getConvert().from(columnValue);
-                            int maxLength = excelField.maxLength();
-                            if (Objects.toString(value).length() > maxLength) {
-                                errorList.add(new ExcelImportError(i, columnIndex, field.getName(), columnValue, null, "你输入的值超过" + maxLength + "字符，请重新输入"));
-                            }
-                            break;
-                        case SELECT:
-                            value = tempHeader.getSelectMap().getOrDefault(columnValue, null);
-                            if (value == null || (value instanceof String && StringUtils.isEmpty((String) value))) {
-                                errorList.add(new ExcelImportError(i, columnIndex, field.getName(), columnValue, null, "请选择下拉框的值"));
-                            }
-                            break;
-                        default:
-                            value = null;
-                    }
-                } catch (NumberFormatException e) {
-                    final String msg = excelField.errMsg();
-                    errorList.add(new ExcelImportError(i, columnIndex, field.getName(), columnValue, e, StringUtils.isEmpty(msg) ? "请输入正确的数字" : msg));
-
-                } catch (DateTimeParseException e) {
-                    final String msg = excelField.errMsg();
-                    errorList.add(new ExcelImportError(i, columnIndex, field.getName(), columnValue, e, StringUtils.isEmpty(msg) ? "请输入正确的日期" : msg));
-                } catch (Exception e) {
-                    // 如果解析错误则记录下来
-                    final String msg = excelField.errMsg();
-                    errorList.add(new ExcelImportError(i, columnIndex, field.getName(), columnValue, e, StringUtils.isEmpty(msg) ? null : msg));
+    /**
+     * 在当前线程中按块读取单元格的值，再交给线程池并发地转换为实体，最后按照块的顺序合并结果与错误
+     * 读取单元格的操作不是线程安全的，但转换（转换器、下拉框、长度校验）才是主要的耗时
+     */
+    private <T> ImportDomain<T> resolveParallel(ExcelReadContext<T> context) {
+        final RowIterator<T> iterator = new RowIterator<>(context, null);
+        final RowResolver<T> resolver = iterator.getResolver();
+        final List<CompletableFuture<ImportDomain<T>>> chunks = new ArrayList<>();
+        while (iterator.hasNext()) {
+            final List<RowValues> rows = iterator.nextValues(context.getParallelChunkSize());
+            chunks.add(CompletableFuture.supplyAsync(() -> {
+                final List<T> data = new ArrayList<>(rows.size());
+                final List<ExcelImportError> errors = new ArrayList<>();
+                for (RowValues row : rows) {
+                    data.add(resolver.resolveRow(row, errors::add));
                 }
-                ExcelBeanHelper.fieldSetValue(field, instance, value);
-            });
-            resultContainer.add(instance);
+                return new ImportDomain<>(data, errors);
+            }, context.getParallelExecutor()));
+        }
+        final List<T> resultContainer = new ArrayList<>(iterator.getTotalCount());
+        final LinkedList<ExcelImportError> errorList = new LinkedList<>();
+        try {
+            for (CompletableFuture<ImportDomain<T>> chunk : chunks) {
+                final ImportDomain<T> domain = chunk.join();
+                resultContainer.addAll(domain.getData());
+                errorList.addAll(domain.getErrors());
+            }
+        } catch (CompletionException e) {
+            chunks.forEach(chunk -> chunk.cancel(false));
+            final Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new ExcelException(cause);
         }
-        return new ImportDomain<>(resultContainer, errorList, columnInfoMap);
+        return new ImportDomain<>(resultContainer, errorList, iterator.getColumnInfoMap());
     }
 
+    @Override
+    public <T> Stream<T> stream(ExcelReadContext<T> context, Consumer<ExcelImportError> errorHandler) {
+        final RowIterator<T> iterator = new RowIterator<>(context, errorHandler);
+        return StreamSupport.stream(Spliterators.spliterator(iterator, iterator.getTotalCount(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public <T> void resolve(ExcelReadContext<T> context, int batchSize, Consumer<ImportDomain<T>> batchConsumer) {
+        final BatchCollector<T> collector = new BatchCollector<>(batchSize, batchConsumer);
+        final RowIterator<T> iterator = new RowIterator<>(context, collector::addError);
+        collector.setColumnInfoMapSupplier(iterator::getColumnInfoMap);
+        iterator.forEachRemaining(collector::addRow);
+        collector.finish();
+    }
 
     @Override
     public void close() {
         try {
-            inputStream.close();
-            workbook.close();
+            if (inputStream != null) {
+                inputStream.close();
+            }
+            if (inputStream == null && workbook instanceof XSSFWorkbook) {
+                // 只读打开的文件不能回写，直接丢弃即可
+                ((XSSFWorkbook) workbook).getPackage().revert();
+            } else {
+                workbook.close();
+            }
         } catch (IOException e) {
             throw new ExcelException(e);
         }
@@ -143,12 +142,104 @@ public class DefaultExcelReader implements ExcelReader {
      * 获取到表头
      *
      * @param header header表头
-     * @return 表头, 有序
+     * @return 表头, 下标即为所在列
      */
     private List<String> getHeaders(Row header) {
         List<String> headers = new ArrayList<>();
-        header.cellIterator().forEachRemaining(x -> headers.add(x.getStringCellValue()));
+        header.cellIterator().forEachRemaining(x -> {
+            // 空白的列使用 null 占位，保证下标即为所在列
+            while (headers.size() < x.getColumnIndex()) {
+                headers.add(null);
+            }
+            headers.add(x.getStringCellValue());
+        });
         return headers;
     }
 
+    /**
+     * 逐行解析一张sheet的迭代器
+     *
+     * @param <T> 要解析出来的类型
+     */
+    private class RowIterator<T> implements Iterator<T> {
+        private final Sheet sheet;
+        private final RowResolver<T> resolver;
+        private final Consumer<ExcelImportError> errorHandler;
+        private final int lastRowNum;
+        private final int totalCount;
+        private int startRow;
+
+        RowIterator(ExcelReadContext<T> context, Consumer<ExcelImportError> errorHandler) {
+            this.errorHandler = errorHandler;
+            // 并发解析多张 sheet 时，获取 sheet 与读取之前的操作可能会修改工作簿，因此需要同步
+            synchronized (workbook) {
+                this.sheet = workbook.getSheetAt(context.getSheetIndex());
+                // 读取之前的操作
+                context.getReadSheetHook().accept(sheet, context);
+            }
+
+            // 解析header
+            this.startRow = context.getHeaderStart();
+            Row header = sheet.getRow(startRow++);
+            List<String> realHeaders = getHeaders(header);
+
+            this.lastRowNum = sheet.getLastRowNum();
+            this.totalCount = lastRowNum - header.getRowNum();
+            this.resolver = new RowResolver<>(context, realHeaders);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return startRow <= lastRowNum;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Row row = sheet.getRow(startRow);
+            T instance = resolver.newInstance();
+            final int i = startRow++;
+            for (Cell cell : row) {
+                resolver.resolveCell(instance, i, cell.getColumnIndex(), ExcelBeanHelper.getTypedColumnValue(cell), errorHandler);
+            }
+            return instance;
+        }
+
+        /**
+         * 读取之后最多 maxRows 行单元格的原始值
+         *
+         * @param maxRows 最多读取的行数
+         * @return 原始值
+         */
+        List<RowValues> nextValues(int maxRows) {
+            final List<RowValues> rows = new ArrayList<>(Math.min(maxRows, lastRowNum - startRow + 1));
+            while (hasNext() && rows.size() < maxRows) {
+                final Row row = sheet.getRow(startRow);
+                final int[] columnIndexes = new int[row.getPhysicalNumberOfCells()];
+                final Object[] values = new Object[columnIndexes.length];
+                int i = 0;
+                for (Cell cell : row) {
+                    columnIndexes[i] = cell.getColumnIndex();
+                    values[i++] = ExcelBeanHelper.getTypedColumnValue(cell);
+                }
+                rows.add(new RowValues(startRow++, columnIndexes, values));
+            }
+            return rows;
+        }
+
+        RowResolver<T> getResolver() {
+            return resolver;
+        }
+
+        int getTotalCount() {
+            return totalCount;
+        }
+
+        Map<String, Integer> getColumnInfoMap() {
+            return resolver.getColumnInfoMap();
+        }
+    }
+
 }
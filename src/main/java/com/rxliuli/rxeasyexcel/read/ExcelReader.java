@@ -1,9 +1,19 @@
 package com.rxliuli.rxeasyexcel.read;
 
 
+import com.rxliuli.rxeasyexcel.ExcelException;
+import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
 import com.rxliuli.rxeasyexcel.domain.ExcelReadContext;
 import com.rxliuli.rxeasyexcel.domain.ImportDomain;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 /**
  * @author Quding Ding
  * @since 2018/6/29
@@ -19,6 +29,67 @@ public interface ExcelReader extends AutoCloseable {
      */
     <T> ImportDomain<T> resolve(ExcelReadContext<T> context);
 
+    /**
+     * 以流的方式逐行解析一张sheet，只有在消费时才会解析对应的行，不会将所有的行保存在内存中
+     * 默认实现基于 {@link #resolve(ExcelReadContext)}，会先解析整张sheet 并回调所有的错误，内置的读取器都重写了该方法
+     * 注: 返回的流在使用完毕后必须关闭（建议使用 try-with-resources）
+     *
+     * @param context      该sheet对应的上下文
+     * @param errorHandler 错误的回调，会在出错的行被消费之前调用
+     * @param <T>          要解析出来的类型
+     * @return 惰性求值的流
+     */
+    default <T> Stream<T> stream(ExcelReadContext<T> context, Consumer<ExcelImportError> errorHandler) {
+        final ImportDomain<T> domain = resolve(context);
+        if (domain.getErrors() != null) {
+            domain.getErrors().forEach(errorHandler);
+        }
+        return domain.getData() == null ? Stream.empty() : domain.getData().stream();
+    }
+
+    /**
+     * 按批次解析一张sheet，每解析出 batchSize 行就交给 batchConsumer 处理（最后一批可能不足 batchSize 行）
+     * 内存中最多只会同时存在一批数据，适合边读取边批量写入数据库的场景
+     * 默认实现基于 {@link #stream(ExcelReadContext, Consumer)}，批次中没有列信息
+     *
+     * @param context       该sheet对应的上下文
+     * @param batchSize     每一批的行数
+     * @param batchConsumer 每一批的处理，包含该批次的数据与这些行的错误
+     * @param <T>           要解析出来的类型
+     */
+    default <T> void resolve(ExcelReadContext<T> context, int batchSize, Consumer<ImportDomain<T>> batchConsumer) {
+        final BatchCollector<T> collector = new BatchCollector<>(batchSize, batchConsumer);
+        try (Stream<T> stream = stream(context, collector::addError)) {
+            stream.forEachOrdered(collector::addRow);
+        }
+        collector.finish();
+    }
+
+    /**
+     * 在 executor 中并发解析多张sheet，每张sheet 的解析互不影响
+     * 注: 任意一张sheet 解析失败时会在所有sheet 解析结束后抛出第一个（按照 contexts 的顺序）异常
+     *
+     * @param contexts 每张sheet对应的上下文
+     * @param executor 解析使用的线程池，例如 {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     * @return 结果，与 contexts 的顺序一一对应
+     */
+    default List<ImportDomain<?>> resolveAll(List<ExcelReadContext<?>> contexts, Executor executor) {
+        final List<CompletableFuture<ImportDomain<?>>> futures = contexts.stream()
+                .map(context -> CompletableFuture.<ImportDomain<?>>supplyAsync(() -> resolve(context), executor))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .exceptionally(e -> null)
+                .join();
+        try {
+            return futures.stream()
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList());
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new ExcelException(cause);
+        }
+    }
+
     /**
      * 读取完释放资源
      */
@@ -0,0 +1,218 @@
+package com.rxliuli.rxeasyexcel.read;
+
+import com.rxliuli.rxeasyexcel.annotation.ExcelField;
+import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
+import com.rxliuli.rxeasyexcel.domain.ExcelReadContext;
+import com.rxliuli.rxeasyexcel.domain.ExcelReadHeader;
+import com.rxliuli.rxeasyexcel.domain.convert.IConverter;
+import com.rxliuli.rxeasyexcel.domain.convert.PrimitiveConverter;
+import com.rxliuli.rxeasyexcel.domain.select.ExcelColumnType;
+import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
+import com.rxliuli.rxeasyexcel.internal.util.FieldAccessor;
+import org.apache.commons.collections4.map.LinkedMap;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * 行解析器，负责将一行中每个单元格的值转换后设置到实体中
+ * 与具体的读取方式（usermodel/事件模型）无关，由各个 {@link ExcelReader} 的实现共用
+ *
+ * @author rxliuli
+ */
+class RowResolver<T> {
+    /**
+     * int、long 与 double 转换为字符串的最大长度
+     */
+    private static final int MAX_PRIMITIVE_TEXT_LENGTH = 24;
+    private final ExcelReadContext<T> context;
+    /**
+     * 预先编译好的列，下标即为所在列，不需要解析的列为 {@code null}
+     */
+    private final ColumnSlot[] slots;
+    /**
+     * 列信息，key 为字段名，value 为所在列
+     */
+    private final LinkedMap<String, Integer> columnInfoMap = new LinkedMap<>();
+
+    /**
+     * @param context     读取上下文
+     * @param realHeaders 表头行中的值，下标即为所在列，不存在的列为 {@code null}
+     */
+    RowResolver(ExcelReadContext<T> context, List<String> realHeaders) {
+        this.context = context;
+        final Map<String, ExcelReadHeader> configHeaders = context.getHeaders();
+        this.slots = new ColumnSlot[realHeaders.size()];
+        // 只在解析表头时查找一次列对应的字段，之后每个单元格只需要按下标获取
+        for (int columnIndex = 0; columnIndex < realHeaders.size(); columnIndex++) {
+            final String name = realHeaders.get(columnIndex);
+            final ExcelReadHeader tempHeader = name == null ? null : configHeaders.get(name);
+            if (tempHeader != null) {
+                slots[columnIndex] = new ColumnSlot(tempHeader);
+                columnInfoMap.put(tempHeader.getField().getName(), columnIndex);
+            }
+        }
+    }
+
+    /**
+     * 创建一个新的实体用于存放一行的数据
+     *
+     * @return 实体
+     */
+    T newInstance() {
+        return ExcelBeanHelper.newInstance(context.getClazz());
+    }
+
+    /**
+     * 解析一个单元格并设置到实体中
+     *
+     * @param instance     当前行对应的实体
+     * @param rowIndex     所在行
+     * @param columnIndex  所在列
+     * @param columnValue  单元格的值，类型为 {@link String}/{@link Double}/{@link Date}/{@link Boolean}
+     * @param errorHandler 解析错误时的处理
+     */
+    void resolveCell(T instance, int rowIndex, int columnIndex, Object columnValue, Consumer<ExcelImportError> errorHandler) {
+        final ColumnSlot slot = columnIndex < slots.length ? slots[columnIndex] : null;
+        // 如果字段值为空字符串则直接跳过
+        if (null == slot || columnValue == null || (columnValue instanceof String && ((String) columnValue).isEmpty())) {
+            return;
+        }
+        Object value = null;
+        try {
+            if (slot.primitive != null && resolvePrimitive(slot.primitive, slot.accessor, instance, columnValue)) {
+                return;
+            }
+            switch (slot.type) {
+                case TEXT:
+                    value = convert(slot.convert, columnValue);
+                    if (Objects.toString(value).length() > slot.maxLength) {
+                        errorHandler.accept(new ExcelImportError(rowIndex, columnIndex, slot.fieldName, ExcelBeanHelper.toColumnString(columnValue), null, "你输入的值超过" + slot.maxLength + "字符，请重新输入"));
+                    }
+                    break;
+                case SELECT:
+                    final String key = ExcelBeanHelper.toColumnString(columnValue);
+                    value = slot.selectMap.getOrDefault(key, null);
+                    if (value == null || (value instanceof String && StringUtils.isEmpty((String) value))) {
+                        errorHandler.accept(new ExcelImportError(rowIndex, columnIndex, slot.fieldName, key, null, "请选择下拉框的值"));
+                    }
+                    break;
+                default:
+                    value = null;
+            }
+        } catch (NumberFormatException e) {
+            errorHandler.accept(new ExcelImportError(rowIndex, columnIndex, slot.fieldName, ExcelBeanHelper.toColumnString(columnValue), e, StringUtils.isEmpty(slot.errMsg) ? "请输入正确的数字" : slot.errMsg));
+        } catch (DateTimeParseException e) {
+            errorHandler.accept(new ExcelImportError(rowIndex, columnIndex, slot.fieldName, ExcelBeanHelper.toColumnString(columnValue), e, StringUtils.isEmpty(slot.errMsg) ? "请输入正确的日期" : slot.errMsg));
+        } catch (Exception e) {
+            // 如果解析错误则记录下来
+            errorHandler.accept(new ExcelImportError(rowIndex, columnIndex, slot.fieldName, ExcelBeanHelper.toColumnString(columnValue), e, StringUtils.isEmpty(slot.errMsg) ? null : slot.errMsg));
+        }
+        slot.setValue(instance, value);
+    }
+
+    /**
+     * 不装箱地将数字与文本单元格的值设置到基本类型的字段中
+     *
+     * @return 是否已经设置，日期与布尔单元格为 {@code false}
+     */
+    private static boolean resolvePrimitive(PrimitiveConverter<?> convert, FieldAccessor accessor, Object instance, Object columnValue) {
+        if (columnValue instanceof Double) {
+            convert.setFromNumeric(instance, accessor, (Double) columnValue);
+            return true;
+        }
+        if (columnValue instanceof String) {
+            convert.setFromText(instance, accessor, (String) columnValue);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 根据单元格值的类型选择转换方法，只有文本单元格才需要从字符串解析
+     */
+    private static Object convert(IConverter<Object> convert, Object columnValue) {
+        if (columnValue instanceof Double) {
+            return convert.fromNumeric((Double) columnValue);
+        }
+        if (columnValue instanceof Date) {
+            return convert.fromDate((Date) columnValue);
+        }
+        if (columnValue instanceof Boolean) {
+            return convert.fromBoolean((Boolean) columnValue);
+        }
+        return convert.from(columnValue.toString());
+    }
+
+    /**
+     * 将一行的原始值转换为实体，不依赖任何可变状态，可以在多个线程中同时调用
+     *
+     * @param row          一行的原始值
+     * @param errorHandler 解析错误时的处理
+     * @return 实体
+     */
+    T resolveRow(RowValues row, Consumer<ExcelImportError> errorHandler) {
+        final T instance = newInstance();
+        for (int i = 0; i < row.size(); i++) {
+            resolveCell(instance, row.getRowIndex(), row.getColumnIndex(i), row.getValue(i), errorHandler);
+        }
+        return instance;
+    }
+
+    /**
+     * 获取列信息
+     *
+     * @return key 为字段名，value 为所在列
+     */
+    Map<String, Integer> getColumnInfoMap() {
+        return columnInfoMap;
+    }
+
+    /**
+     * 一列解析时需要的全部信息，在解析表头时从 {@link ExcelReadHeader} 与 {@link ExcelField} 中取出
+     */
+    private static final class ColumnSlot {
+        private final FieldAccessor accessor;
+        private final String fieldName;
+        private final IConverter<Object> convert;
+        private final ExcelColumnType type;
+        private final Map<String, ?> selectMap;
+        private final int maxLength;
+        private final String errMsg;
+        /**
+         * 不装箱设置字段的转换器，字段不是对应的基本类型或者需要检查长度时为 {@code null}
+         */
+        private final PrimitiveConverter<?> primitive;
+
+        ColumnSlot(ExcelReadHeader header) {
+            final ExcelField excelField = header.getField().getAnnotation(ExcelField.class);
+            this.accessor = FieldAccessor.of(header.getField());
+            this.fieldName = header.getField().getName();
+            this.convert = header.getConvert().forColumn();
+            this.type = header.getType();
+            this.selectMap = header.getSelectMap();
+            this.maxLength = excelField.maxLength();
+            this.errMsg = excelField.errMsg();
+            // 基本类型的值转换为字符串不会超过 MAX_PRIMITIVE_TEXT_LENGTH，长度的检查总是通过
+            this.primitive = type == ExcelColumnType.TEXT
+                    && convert instanceof PrimitiveConverter
+                    && ((PrimitiveConverter<?>) convert).primitiveType() == header.getField().getType()
+                    && maxLength >= MAX_PRIMITIVE_TEXT_LENGTH
+                    ? (PrimitiveConverter<?>) convert
+                    : null;
+        }
+
+        void setValue(Object target, Object value) {
+            // 如果字段值为空则不进行设置
+            if (value == null) {
+                return;
+            }
+            accessor.set(target, value);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.rxliuli.rxeasyexcel.read;
+
+/**
+ * 一行中所有单元格的原始值，用于将读取单元格与转换实体分离开
+ *
+ * @author rxliuli
+ */
+final class RowValues {
+    private final int rowIndex;
+    /**
+     * 单元格所在列，与 values 一一对应
+     */
+    private final int[] columnIndexes;
+    /**
+     * 单元格的值，类型为 {@link String}/{@link Double}/{@link java.util.Date}/{@link Boolean}
+     */
+    private final Object[] values;
+
+    RowValues(int rowIndex, int[] columnIndexes, Object[] values) {
+        this.rowIndex = rowIndex;
+        this.columnIndexes = columnIndexes;
+        this.values = values;
+    }
+
+    int getRowIndex() {
+        return rowIndex;
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    int getColumnIndex(int i) {
+        return columnIndexes[i];
+    }
+
+    Object getValue(int i) {
+        return values[i];
+    }
+}
@@ -0,0 +1,79 @@
+package com.rxliuli.rxeasyexcel.read;
+
+import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
+import com.rxliuli.rxeasyexcel.domain.ExcelReadContext;
+import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
+import org.apache.commons.collections4.map.LinkedMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 基于事件解析一张 sheet 时的行处理，与具体的文件格式无关
+ * 事件的顺序为 startRow -> cell... -> endRow，在表头行结束时确定列与字段的对应关系
+ *
+ * @param <T> 要解析出来的类型
+ * @author rxliuli
+ */
+class SheetRowHandler<T> {
+    private final ExcelReadContext<T> context;
+    private final Consumer<T> rowConsumer;
+    private final Consumer<ExcelImportError> errorHandler;
+    private final List<String> realHeaders = new ArrayList<>();
+    private RowResolver<T> resolver;
+    private T instance;
+    private int currentRow;
+
+    /**
+     * @param context      读取上下文
+     * @param rowConsumer  解析完一行后的处理
+     * @param errorHandler 解析错误时的处理
+     */
+    SheetRowHandler(ExcelReadContext<T> context, Consumer<T> rowConsumer, Consumer<ExcelImportError> errorHandler) {
+        this.context = context;
+        this.rowConsumer = rowConsumer;
+        this.errorHandler = errorHandler;
+    }
+
+    void startRow(int rowNum) {
+        currentRow = rowNum;
+        if (resolver != null && rowNum > context.getHeaderStart()) {
+            instance = resolver.newInstance();
+        }
+    }
+
+    /**
+     * @param columnIndex 所在列
+     * @param value       单元格的值，类型为 {@link String}/{@link Double}/{@link java.util.Date}/{@link Boolean}
+     */
+    void cell(int columnIndex, Object value) {
+        if (currentRow == context.getHeaderStart()) {
+            while (realHeaders.size() < columnIndex) {
+                realHeaders.add(null);
+            }
+            realHeaders.add(ExcelBeanHelper.toColumnString(value));
+        } else if (instance != null) {
+            resolver.resolveCell(instance, currentRow, columnIndex, value, errorHandler);
+        }
+    }
+
+    void endRow(int rowNum) {
+        if (rowNum == context.getHeaderStart()) {
+            resolver = new RowResolver<>(context, realHeaders);
+        } else if (instance != null) {
+            rowConsumer.accept(instance);
+            instance = null;
+        }
+    }
+
+    /**
+     * 获取列信息，在表头行解析完成之前为空
+     *
+     * @return key 为字段名，value 为所在列
+     */
+    Map<String, Integer> getColumnInfoMap() {
+        return resolver == null ? new LinkedMap<>() : resolver.getColumnInfoMap();
+    }
+}
@@ -0,0 +1,259 @@
+package com.rxliuli.rxeasyexcel.read;
+
+import com.rxliuli.rxeasyexcel.ExcelException;
+import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 基于事件模型的 xls 读取类
+ * 不会像 {@link DefaultExcelReader} 那样构建 {@link org.apache.poi.hssf.usermodel.HSSFWorkbook}，而是逐条处理 xls 中的记录，
+ * 只保留共享字符串表与当前行，因此内存占用与行数基本无关，适合大文件的导入
+ *
+ * @author rxliuli
+ */
+public class XlsStreamExcelReader extends AbstractStreamExcelReader {
+
+    /**
+     * 从输入流中读取时的文件系统，直接从文件中读取时为 {@code null}
+     */
+    private final NPOIFSFileSystem fileSystem;
+
+    private final InputStream inputStream;
+
+    /**
+     * 直接读取的文件，从输入流中读取时为 {@code null}
+     */
+    private final File file;
+
+    public XlsStreamExcelReader(InputStream inputStream) {
+        try {
+            this.fileSystem = new NPOIFSFileSystem(inputStream);
+            this.inputStream = inputStream;
+            this.file = null;
+        } catch (IOException e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    /**
+     * 直接以只读的方式打开文件，按需读取文件中的块，而不需要先将整个文件读到内存中
+     * 注: 只读打开的文件系统会先定位再读取，不是线程安全的，因此每次解析 sheet 时都会单独打开文件，可以并发解析多张 sheet
+     *
+     * @param file xls 文件
+     */
+    public XlsStreamExcelReader(File file) {
+        // 提前打开一次，检查文件格式
+        try {
+            new NPOIFSFileSystem(file, true).close();
+        } catch (IOException e) {
+            throw new ExcelException(e);
+        }
+        this.fileSystem = null;
+        this.inputStream = null;
+        this.file = file;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (fileSystem != null) {
+                fileSystem.close();
+            }
+            if (inputStream != null) {
+                inputStream.close();
+            }
+        } catch (IOException e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    @Override
+    void processSheet(int sheetIndex, SheetRowHandler<?> handler) {
+        if (file == null) {
+            processSheet(fileSystem, sheetIndex, handler);
+            return;
+        }
+        try (NPOIFSFileSystem sheetFileSystem = new NPOIFSFileSystem(file, true)) {
+            processSheet(sheetFileSystem, sheetIndex, handler);
+        } catch (IOException e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    private void processSheet(NPOIFSFileSystem fileSystem, int sheetIndex, SheetRowHandler<?> handler) {
+        final SheetRecordListener listener = new SheetRecordListener(sheetIndex, handler);
+        final HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(listener.formatListener);
+        try {
+            new HSSFEventFactory().processWorkbookEvents(request, fileSystem.getRoot());
+        } catch (SheetFinishedException ignored) {
+            // 指定的 sheet 已经解析完成，不需要再处理之后的记录
+        } catch (IOException e) {
+            throw new ExcelException(e);
+        }
+        if (!listener.found) {
+            throw new ExcelException("不存在的 sheet 索引: " + sheetIndex);
+        }
+    }
+
+    /**
+     * 将 xls 中的记录转换为 {@link SheetRowHandler} 的行事件，只处理指定的 sheet
+     */
+    private static class SheetRecordListener implements HSSFListener {
+        private final int sheetIndex;
+        private final SheetRowHandler<?> handler;
+        /**
+         * 记录数字单元格的格式，用于判断是否为日期
+         */
+        private final FormatTrackingHSSFListener formatListener;
+        private SSTRecord sstRecord;
+        /**
+         * 当前是第几个 sheet
+         */
+        private int currentSheet = -1;
+        private boolean found = false;
+        /**
+         * 当前行，-1 表示没有正在处理的行
+         */
+        private int currentRow = -1;
+        /**
+         * 字符串类型公式的结果存放在下一条 {@link StringRecord} 中，这里记录公式所在的单元格
+         */
+        private FormulaRecord pendingFormula;
+
+        SheetRecordListener(int sheetIndex, SheetRowHandler<?> handler) {
+            this.sheetIndex = sheetIndex;
+            this.handler = handler;
+            this.formatListener = new FormatTrackingHSSFListener(new MissingRecordAwareHSSFListener(this));
+        }
+
+        @Override
+        public void processRecord(Record record) {
+            switch (record.getSid()) {
+                case BOFRecord.sid:
+                    if (((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET) {
+                        currentSheet++;
+                        found = found || currentSheet == sheetIndex;
+                    }
+                    break;
+                case EOFRecord.sid:
+                    if (currentSheet == sheetIndex) {
+                        endRow();
+                        throw new SheetFinishedException();
+                    }
+                    break;
+                case SSTRecord.sid:
+                    // 共享字符串表位于所有 sheet 之前
+                    sstRecord = (SSTRecord) record;
+                    break;
+                default:
+                    if (currentSheet == sheetIndex) {
+                        processSheetRecord(record);
+                    }
+            }
+        }
+
+        private void processSheetRecord(Record record) {
+            // 占位记录没有自己的 sid（总是 -1），只能通过类型判断
+            if (record instanceof LastCellOfRowDummyRecord) {
+                if (((LastCellOfRowDummyRecord) record).getRow() == currentRow) {
+                    endRow();
+                }
+                return;
+            }
+            switch (record.getSid()) {
+                case LabelSSTRecord.sid:
+                    final LabelSSTRecord labelSSTRecord = (LabelSSTRecord) record;
+                    cell(labelSSTRecord, sstRecord.getString(labelSSTRecord.getSSTIndex()).getString());
+                    break;
+                case LabelRecord.sid:
+                    final LabelRecord labelRecord = (LabelRecord) record;
+                    cell(labelRecord, labelRecord.getValue());
+                    break;
+                case NumberRecord.sid:
+                    final NumberRecord numberRecord = (NumberRecord) record;
+                    cell(numberRecord, getNumericColumnValue(numberRecord, numberRecord.getValue()));
+                    break;
+                case BoolErrRecord.sid:
+                    final BoolErrRecord boolErrRecord = (BoolErrRecord) record;
+                    // 错误单元格与 DefaultExcelReader 一样视为空值
+                    if (boolErrRecord.isBoolean()) {
+                        cell(boolErrRecord, boolErrRecord.getBooleanValue());
+                    }
+                    break;
+                case FormulaRecord.sid:
+                    final FormulaRecord formulaRecord = (FormulaRecord) record;
+                    if (formulaRecord.hasCachedResultString()) {
+                        pendingFormula = formulaRecord;
+                    } else {
+                        cell(formulaRecord, getNumericColumnValue(formulaRecord, formulaRecord.getValue()));
+                    }
+                    break;
+                case StringRecord.sid:
+                    if (pendingFormula != null) {
+                        cell(pendingFormula, ((StringRecord) record).getString());
+                        pendingFormula = null;
+                    }
+                    break;
+                default:
+                    // 空白单元格以及其他记录不需要处理
+            }
+        }
+
+        private Object getNumericColumnValue(CellValueRecordInterface record, double value) {
+            return ExcelBeanHelper.getTypedNumericColumnValue(value, formatListener.getFormatIndex(record), formatListener.getFormatString(record));
+        }
+
+        /**
+         * 处理一个单元格，遇到新的一行时先结束上一行
+         */
+        private void cell(CellValueRecordInterface record, Object value) {
+            final int row = record.getRow();
+            if (row != currentRow) {
+                endRow();
+                currentRow = row;
+                handler.startRow(row);
+            }
+            handler.cell(record.getColumn(), value);
+        }
+
+        private void endRow() {
+            if (currentRow != -1) {
+                handler.endRow(currentRow);
+                currentRow = -1;
+            }
+        }
+    }
+
+    /**
+     * 指定的 sheet 已经解析完成，用于提前结束对整个工作簿的解析
+     */
+    private static class SheetFinishedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        SheetFinishedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.rxliuli.rxeasyexcel.read;
+
+import com.rxliuli.rxeasyexcel.ExcelException;
+import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * 基于 SAX 事件的 xlsx 读取类
+ * 不会像 {@link DefaultExcelReader} 那样在内存中构建整个工作簿，而是逐行解析 sheet 的 xml，
+ * 因此内存占用与行数基本无关，适合大文件的导入
+ *
+ * @author rxliuli
+ */
+public class XlsxStreamExcelReader extends AbstractStreamExcelReader {
+
+    private final OPCPackage opcPackage;
+
+    private final InputStream inputStream;
+
+    private final XSSFReader xssfReader;
+
+    private final StylesTable stylesTable;
+
+    private final ReadOnlySharedStringsTable sharedStringsTable;
+
+    public XlsxStreamExcelReader(InputStream inputStream) {
+        this(openPackage(inputStream), inputStream);
+    }
+
+    /**
+     * 直接以只读的方式打开文件，POI 会随机访问 zip 中的条目，而不需要先将整个文件读到内存中
+     *
+     * @param file xlsx 文件
+     */
+    public XlsxStreamExcelReader(File file) {
+        this(openPackage(file), null);
+    }
+
+    private XlsxStreamExcelReader(OPCPackage opcPackage, InputStream inputStream) {
+        try {
+            this.opcPackage = opcPackage;
+            this.inputStream = inputStream;
+            this.xssfReader = new XSSFReader(opcPackage);
+            this.stylesTable = xssfReader.getStylesTable();
+            this.sharedStringsTable = new ReadOnlySharedStringsTable(opcPackage);
+        } catch (IOException | OpenXML4JException | SAXException e) {
+            opcPackage.revert();
+            throw new ExcelException(e);
+        }
+    }
+
+    private static OPCPackage openPackage(InputStream inputStream) {
+        try {
+            return OPCPackage.open(inputStream);
+        } catch (IOException | InvalidFormatException e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    private static OPCPackage openPackage(File file) {
+        try {
+            return OPCPackage.open(file, PackageAccess.READ);
+        } catch (InvalidFormatException e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            // 只读打开的包不需要回写，直接丢弃即可
+            opcPackage.revert();
+            if (inputStream != null) {
+                inputStream.close();
+            }
+        } catch (IOException e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    @Override
+    void processSheet(int sheetIndex, SheetRowHandler<?> handler) {
+        try (InputStream sheetInputStream = openSheet(sheetIndex)) {
+            final XMLReader xmlReader = SAXHelper.newXMLReader();
+            final ColumnValueFormatter formatter = new ColumnValueFormatter();
+            xmlReader.setContentHandler(new XSSFSheetXMLHandler(stylesTable, sharedStringsTable, new SheetContentsHandlerAdapter(handler, formatter), formatter, false));
+            xmlReader.parse(new InputSource(sheetInputStream));
+        } catch (IOException | SAXException | ParserConfigurationException | InvalidFormatException e) {
+            throw new ExcelException(e);
+        }
+    }
+
+    /**
+     * 打开指定 sheet 的 xml 流
+     *
+     * @param sheetIndex sheet 索引
+     * @return sheet 的 xml 流
+     */
+    private InputStream openSheet(int sheetIndex) throws IOException, InvalidFormatException {
+        final Iterator<InputStream> iterator = xssfReader.getSheetsData();
+        for (int i = 0; iterator.hasNext(); i++) {
+            final InputStream sheetInputStream = iterator.next();
+            if (i == sheetIndex) {
+                return sheetInputStream;
+            }
+            sheetInputStream.close();
+        }
+        throw new ExcelException("不存在的 sheet 索引: " + sheetIndex);
+    }
+
+    /**
+     * 单元格格式化，保证数字与日期的值和 {@link ExcelBeanHelper#getTypedColumnValue} 一致
+     * {@link XSSFSheetXMLHandler} 只能输出字符串，因此将数字单元格原本的值暂存起来，由紧接着的单元格事件取出
+     */
+    private static class ColumnValueFormatter extends DataFormatter {
+        private Object typedValue;
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            typedValue = ExcelBeanHelper.getTypedNumericColumnValue(value, formatIndex, formatString);
+            return ExcelBeanHelper.toColumnString(typedValue);
+        }
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            return formatRawCellContents(value, formatIndex, formatString);
+        }
+
+        /**
+         * 取出当前单元格原本的值
+         *
+         * @return 数字单元格为 {@link Double} 或者 {@link java.util.Date}，其他单元格为 {@code null}
+         */
+        Object takeTypedValue() {
+            final Object result = typedValue;
+            typedValue = null;
+            return result;
+        }
+    }
+
+    /**
+     * 将 {@link XSSFSheetXMLHandler} 的事件转换为 {@link SheetRowHandler} 的行事件
+     */
+    private static class SheetContentsHandlerAdapter implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final SheetRowHandler<?> handler;
+        private final ColumnValueFormatter formatter;
+        private int currentCol;
+
+        SheetContentsHandlerAdapter(SheetRowHandler<?> handler, ColumnValueFormatter formatter) {
+            this.handler = handler;
+            this.formatter = formatter;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentCol = -1;
+            handler.startRow(rowNum);
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            handler.endRow(rowNum);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // 部分程序生成的文件可能不包含单元格坐标，此时按顺序推算
+            currentCol = cellReference == null ? currentCol + 1 : new CellReference(cellReference).getCol();
+            final Object typedValue = formatter.takeTypedValue();
+            handler.cell(currentCol, typedValue != null ? typedValue : formattedValue);
+        }
+
+        @Override
+        public void headerFooter(String text, boolean isHeader, String tagName) {
+            // 页眉页脚不需要处理
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.rxliuli.rxeasyexcel.write;
+
+import com.rxliuli.rxeasyexcel.domain.ExcelCellStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 一个工作簿中的单元格样式注册表，相同描述的样式与字体只会创建一次
+ * 避免每个单元格创建一个样式导致文件变大以及超过工作簿的样式数量限制
+ *
+ * @author rxliuli
+ */
+class CellStyleRegistry {
+    private final Workbook workbook;
+    private final Map<ExcelCellStyle, CellStyle> styles = new HashMap<>();
+    private final Map<Boolean, Font> fonts = new HashMap<>();
+
+    CellStyleRegistry(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    /**
+     * 获取样式描述对应的样式，不存在时创建
+     *
+     * @param style 样式描述
+     * @return 工作簿中的样式
+     */
+    CellStyle get(ExcelCellStyle style) {
+        return styles.computeIfAbsent(style, this::create);
+    }
+
+    private CellStyle create(ExcelCellStyle style) {
+        final CellStyle cellStyle = workbook.createCellStyle();
+        if (style.getDataFormat() != null) {
+            cellStyle.setDataFormat(workbook.createDataFormat().getFormat(style.getDataFormat()));
+        }
+        if (style.getFillForegroundColor() != null) {
+            cellStyle.setFillForegroundColor(style.getFillForegroundColor().getIndex());
+        }
+        if (style.getFillBackgroundColor() != null) {
+            cellStyle.setFillBackgroundColor(style.getFillBackgroundColor().getIndex());
+        }
+        if (style.getFillPattern() != null) {
+            cellStyle.setFillPattern(style.getFillPattern());
+        }
+        if (style.getBold() != null) {
+            cellStyle.setFont(fonts.computeIfAbsent(style.getBold(), bold -> {
+                final Font font = workbook.createFont();
+                font.setBold(bold);
+                return font;
+            }));
+        }
+        return cellStyle;
+    }
+}
@@ -0,0 +1,69 @@
+package com.rxliuli.rxeasyexcel.write;
+
+import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
+import com.rxliuli.rxeasyexcel.internal.util.FieldAccessor;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 按照表头的顺序读取一行中每一列的值
+ * bean 直接通过与表头对齐的字段读写器读取，不需要先转换为 Map
+ *
+ * @author rxliuli
+ */
+final class ColumnValueReader {
+    /**
+     * 每一列对应的字段名
+     */
+    private final String[] keys;
+    /**
+     * 当前读写器对应的类型
+     */
+    private Class<?> beanClass;
+    /**
+     * 与表头对齐的读写器，bean 中不存在的列为 {@code null}
+     */
+    private FieldAccessor[] accessors;
+
+    /**
+     * @param keys 每一列对应的字段名，顺序即为列的顺序
+     */
+    ColumnValueReader(Collection<String> keys) {
+        this.keys = keys.toArray(new String[0]);
+    }
+
+    /**
+     * 读取一列的值
+     *
+     * @param rowData 一行的数据，bean 或者 Map
+     * @param column  所在列
+     * @return 该列的值
+     */
+    Object read(Object rowData, int column) {
+        if (rowData instanceof Map) {
+            return ((Map<?, ?>) rowData).get(keys[column]);
+        }
+        final FieldAccessor accessor = accessor(rowData, column);
+        return accessor == null ? null : accessor.get(rowData);
+    }
+
+    /**
+     * 获取一列对应的字段读写器，用于不装箱地读取基本类型的字段
+     *
+     * @param rowData 一行的数据，bean 或者 Map
+     * @param column  所在列
+     * @return 字段读写器，数据为 Map 或者 bean 中不存在该列时为 {@code null}
+     */
+    FieldAccessor accessor(Object rowData, int column) {
+        if (rowData instanceof Map) {
+            return null;
+        }
+        // 只有在 bean 的类型变化时才需要重新获取读写器
+        if (rowData.getClass() != beanClass) {
+            beanClass = rowData.getClass();
+            accessors = ExcelBeanHelper.getExportFieldAccessors(beanClass, keys);
+        }
+        return accessors[column];
+    }
+}
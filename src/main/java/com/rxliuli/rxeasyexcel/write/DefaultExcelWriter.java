@@ -1,20 +1,25 @@
 package com.rxliuli.rxeasyexcel.write;
 
 import com.rxliuli.rxeasyexcel.ExcelException;
+import com.rxliuli.rxeasyexcel.domain.ColumnWidthStrategy;
+import com.rxliuli.rxeasyexcel.domain.ExcelCellStyle;
 import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
 import com.rxliuli.rxeasyexcel.domain.ExcelType;
 import com.rxliuli.rxeasyexcel.domain.ExcelWriteContext;
+import com.rxliuli.rxeasyexcel.domain.ExcelWritePolicy;
 import com.rxliuli.rxeasyexcel.domain.ExcelWriterHeader;
+import com.rxliuli.rxeasyexcel.domain.convert.IConverter;
+import com.rxliuli.rxeasyexcel.domain.convert.PrimitiveConverter;
 import com.rxliuli.rxeasyexcel.domain.select.ExcelColumnType;
 import com.rxliuli.rxeasyexcel.internal.util.Assert;
 import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
-import com.rxliuli.rxeasyexcel.internal.util.tuple.Tuple;
-import com.rxliuli.rxeasyexcel.internal.util.tuple.Tuple2;
+import com.rxliuli.rxeasyexcel.internal.util.FieldAccessor;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.hssf.usermodel.HSSFClientAnchor;
 import org.apache.poi.hssf.usermodel.HSSFRichTextString;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddressList;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFClientAnchor;
 import org.apache.poi.xssf.usermodel.XSSFRichTextString;
 import org.slf4j.Logger;
@@ -22,11 +27,15 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * @author Quding Ding
@@ -36,20 +45,43 @@ public class DefaultExcelWriter implements ExcelWriter {
 
     private static Logger logger = LoggerFactory.getLogger(DefaultExcelWriter.class);
     private final ExcelType excelType;
+    /**
+     * 写入策略
+     */
+    private final ExcelWritePolicy policy;
     /**
      * 工作簿
      */
     private Workbook workbook;
+    /**
+     * 工作簿中的样式，与工作簿一同创建
+     */
+    private CellStyleRegistry styleRegistry;
     /**
      * 输出目标
      */
     private OutputStream outputStream;
+    /**
+     * 并发写入中的表
+     */
+    private final List<CompletableFuture<Void>> sheetFutures = new ArrayList<>();
+    /**
+     * 并发写入中的表，按照导出的顺序，写入结束后用于调整续表的位置
+     */
+    private final List<SheetWriter> sheetWriters = new ArrayList<>();
 
     public DefaultExcelWriter(ExcelType excelType, OutputStream outputStream) {
+        this(excelType, outputStream, ExcelWritePolicy.DEFAULT);
+    }
+
+    public DefaultExcelWriter(ExcelType excelType, OutputStream outputStream, ExcelWritePolicy policy) {
         Assert.notNull(excelType, "excelType can't be null");
         Assert.notNull(outputStream, "outputStream can't be null");
+        Assert.notNull(policy, "policy can't be null");
+        Assert.state(policy.getSheetExecutor() == null || excelType == ExcelType.XLSX, "only xlsx supports concurrent sheets");
         this.excelType = excelType;
         this.outputStream = outputStream;
+        this.policy = policy;
     }
 
     /**
@@ -60,109 +92,310 @@ public class DefaultExcelWriter implements ExcelWriter {
     @Override
     public DefaultExcelWriter export(ExcelWriteContext context) {
         createWorkbookIfNull(context);
+        try {
+            writeSheet(context);
+        } catch (RuntimeException e) {
+            context.closeDatasource();
+            // 导出失败时不会再调用 write()，需要在这里等待其它的表写入结束后删除临时文件
+            joinSheetsQuietly();
+            dispose();
+            throw e;
+        }
+        return this;
+    }
+
+    /**
+     * 写入一张表
+     * 并发写入时会在当前线程写入表头等需要修改工作簿的部分，数据行则交给 executor 写入
+     *
+     * @param context 一张sheet上下文
+     */
+    private void writeSheet(ExcelWriteContext context) {
+        final SheetWriter sheetWriter = new SheetWriter(context);
+        sheetWriter.createSheet();
+        final Executor executor = policy.getSheetExecutor();
+        if (executor == null) {
+            sheetWriter.writeRows();
+        } else {
+            sheetWriters.add(sheetWriter);
+            sheetFutures.add(CompletableFuture.runAsync(sheetWriter::writeRows, executor));
+        }
+    }
 
-        Sheet sheet = StringUtils.isEmpty(context.getSheetName())
-                ? workbook.createSheet()
-                : workbook.createSheet(context.getSheetName());
-
-        // custom 处理
-        context.getCreateSheetHook().accept(sheet, context);
-
-        int startRow = context.getStartRow();
-
-        // 写表头
-        Row headerRow = sheet.createRow(startRow++);
-        final AtomicInteger tempCol = new AtomicInteger(0);
-        LinkedHashMap<String, ExcelWriterHeader> headers = context.getHeaders();
-        // 下拉框数据
-        final LinkedList<Tuple2<String[], Integer>> selectTupleList = new LinkedList<>();
-        // 绘图对象
-        final Drawing<?> drawing = sheet.createDrawingPatriarch();
-        CellStyle headerStyle = getHeaderStyle();
-        headers.forEach((k, v) -> {
-            Cell cell = headerRow.createCell(tempCol.getAndIncrement());
-            cell.setCellValue(v.getName());
-            // 批注
-            final String prompt = v.getPrompt();
-            if (StringUtils.isNotEmpty(prompt)) {
-                final Comment comment = createComment(sheet, drawing, prompt, cell.getRowIndex(), cell.getColumnIndex());
-                cell.setCellComment(comment);
+    /**
+     * 写入一张表的数据，行数超过每张表的最大行数时创建续表，一次性使用
+     * 错误在写入对应的行时一并写入，不需要在写入结束后回头查找已经刷新到临时文件的行
+     * 创建表（包括续表）与写入错误需要修改工作簿，会锁住工作簿，写入数据行只会修改该表
+     */
+    private class SheetWriter {
+        private final ExcelWriteContext context;
+        private final ExcelWriterHeader[] columns;
+        private final CellStyle[] columnStyles;
+        private final ColumnValueReader valueReader;
+        /**
+         * 每一列的基本类型转换器，不是基本类型转换器的列为 {@code null}
+         */
+        private final PrimitiveConverter<?>[] primitiveConverters;
+        /**
+         * 估算列宽时记录每一列的最大字符宽度
+         */
+        private final int[] textWidths;
+        /**
+         * 每张表数据的起始行
+         */
+        private final int firstDataRow;
+        /**
+         * 每张表的最大行数
+         */
+        private final int maxRows;
+        /**
+         * 已经创建的表与其绘图对象，第一张为原表，其余为续表
+         */
+        private final List<Sheet> sheets = new ArrayList<>();
+        private final List<Drawing<?>> drawings = new ArrayList<>();
+        /**
+         * 按照行号（所有数据写在一张表中时的行号）与列索引的错误，在写入对应的行时写入
+         */
+        private final TreeMap<Integer, Map<Integer, ExcelImportError>> errors = new TreeMap<>();
+
+        SheetWriter(ExcelWriteContext context) {
+            this.context = context;
+            this.columns = context.getHeaders().values().toArray(new ExcelWriterHeader[0]);
+            this.columnStyles = new CellStyle[columns.length];
+            synchronized (workbook) {
+                for (int col = 0; col < columns.length; col++) {
+                    final ExcelCellStyle style = columns[col].getStyle();
+                    columnStyles[col] = style == null ? null : styleRegistry.get(style);
+                }
             }
-            // 下拉框数据记录
-            if (v.getType() == ExcelColumnType.SELECT) {
-                selectTupleList.push(Tuple.of(v.getSelectMap().values().toArray(new String[]{}), cell.getColumnIndex()));
+            this.valueReader = new ColumnValueReader(context.getHeaders().keySet());
+            this.primitiveConverters = new PrimitiveConverter<?>[columns.length];
+            for (int col = 0; col < columns.length; col++) {
+                final IConverter<Object> convert = columns[col].getConvert();
+                if (columns[col].getType() == ExcelColumnType.TEXT && convert instanceof PrimitiveConverter) {
+                    primitiveConverters[col] = (PrimitiveConverter<?>) convert;
+                }
             }
-            //设置宽度自适应
-            int columnIndex = cell.getColumnIndex();
-            ExcelBeanHelper.autoColumnWidth(sheet, columnIndex);
-            //设置表头样式
-            cell.setCellStyle(headerStyle);
-        });
-
-        // 下拉框设置
-        selectTupleList.forEach(tuple3 -> {
-            final DataValidationHelper helper = sheet.getDataValidationHelper();
+            for (ExcelImportError error : context.getErrors()) {
+                errors.computeIfAbsent(error.getRow(), k -> new HashMap<>()).put(error.getCol(), error);
+            }
+            this.textWidths = new int[columns.length];
+            this.firstDataRow = context.getStartRow() + 1;
+            final int maxRowsPerSheet = context.getMaxRowsPerSheet();
+            this.maxRows = maxRowsPerSheet > 0 ? Math.min(maxRowsPerSheet, excelType.getMaxRows()) : excelType.getMaxRows();
+            Assert.state(maxRows > firstDataRow, "maxRowsPerSheet must be greater than startRow + 1");
+        }
+
+        /**
+         * 创建表（第一张之后为续表）并写入表头、批注与下拉框
+         *
+         * @return 创建的表
+         */
+        Sheet createSheet() {
+            synchronized (workbook) {
+                final int sheetNo = sheets.size() + 1;
+                final String sheetName = context.getSheetName();
+                final Sheet sheet;
+                if (StringUtils.isEmpty(sheetName)) {
+                    sheet = workbook.createSheet();
+                } else {
+                    sheet = workbook.createSheet(sheetNo == 1 ? sheetName : context.getContinuationSheetName().apply(sheetName, sheetNo));
+                }
+
+                // custom 处理
+                context.getCreateSheetHook().accept(sheet, context);
 
+                // 写表头
+                Row headerRow = sheet.createRow(context.getStartRow());
+                // 绘图对象
+                final Drawing<?> drawing = sheet.createDrawingPatriarch();
+                CellStyle headerStyle = styleRegistry.get(ExcelCellStyle.HEADER);
+                final ColumnWidthStrategy widthStrategy = context.getColumnWidthStrategy();
+                for (int col = 0; col < columns.length; col++) {
+                    final ExcelWriterHeader v = columns[col];
+                    Cell cell = headerRow.createCell(col);
+                    cell.setCellValue(v.getName());
+                    // 批注
+                    final String prompt = v.getPrompt();
+                    if (StringUtils.isNotEmpty(prompt)) {
+                        final Comment comment = createComment(sheet, drawing, prompt, cell.getRowIndex(), col);
+                        cell.setCellComment(comment);
+                    }
+                    // 下拉框设置
+                    if (v.getType() == ExcelColumnType.SELECT) {
+                        addSelect(sheet, v.getSelectMap().values().toArray(new String[]{}), col);
+                    }
+                    //设置宽度自适应
+                    if (widthStrategy == ColumnWidthStrategy.AUTO_SIZE) {
+                        ExcelBeanHelper.autoColumnWidth(sheet, col);
+                    } else if (widthStrategy == ColumnWidthStrategy.ESTIMATE) {
+                        textWidths[col] = Math.max(textWidths[col], ExcelBeanHelper.estimateTextWidth(v.getName()));
+                    }
+                    //设置表头样式
+                    cell.setCellStyle(headerStyle);
+                }
+                sheets.add(sheet);
+                drawings.add(drawing);
+                return sheet;
+            }
+        }
+
+        /**
+         * 下拉框，作用于该表所有可能的数据行（从第一行数据到每张表的最大行数），续表也会添加
+         */
+        private void addSelect(Sheet sheet, String[] values, int col) {
+            final DataValidationHelper helper = sheet.getDataValidationHelper();
             // 约束值
-            final DataValidationConstraint constraint = helper.createExplicitListConstraint(tuple3.getV1());
-            constraint.setExplicitListValues(tuple3.getV1());
+            final DataValidationConstraint constraint = helper.createExplicitListConstraint(values);
+            constraint.setExplicitListValues(values);
             // 作用范围
-            final Integer col = tuple3.getV2();
-            final CellRangeAddressList regions = new CellRangeAddressList(1, 50000, col, col);
+            final CellRangeAddressList regions = new CellRangeAddressList(firstDataRow, maxRows - 1, col, col);
             final DataValidation validation = helper.createValidation(constraint, regions);
-
             sheet.addValidationData(validation);
-        });
-
-        // 写数据
-        for (Map<String, Object> rowData : context.getDatasource()) {
-            Row row = sheet.createRow(startRow++);
-            tempCol.set(0);
-            headers.forEach((k, v) -> {
-                Cell cell = row.createCell(tempCol.getAndIncrement());
-                Object value = rowData.get(k);
-                final String text;
-                switch (v.getType()) {
-                    case TEXT:
-                        text = value == null ? null : v.getConvert().to(value);
-                        break;
-                    case SELECT:
-                        text = value == null ? null : v.getSelectMap().getOrDefault(value, null);
-                        break;
-                    default:
-                        text = null;
+        }
+
+        /**
+         * 写入数据行与错误数据，结束后关闭数据源
+         */
+        void writeRows() {
+            try {
+                doWriteRows();
+            } finally {
+                context.closeDatasource();
+            }
+        }
+
+        private void doWriteRows() {
+            final ColumnWidthStrategy widthStrategy = context.getColumnWidthStrategy();
+            final Iterator<?> rowIterator = context.getSourceRowIterator();
+            int sampleRows = widthStrategy == ColumnWidthStrategy.ESTIMATE ? context.getColumnWidthSampleRows() : 0;
+            Sheet sheet = sheets.get(sheets.size() - 1);
+            // 表头及之前的行的错误
+            errors.headMap(firstDataRow).forEach((rowIndex, rowErrors) -> {
+                final Row row = sheets.get(0).getRow(rowIndex);
+                if (row != null) {
+                    writeErrors(0, row, rowErrors);
                 }
-                ExcelBeanHelper.autoFitCell(cell, text);
             });
+            // 所有数据写在一张表中时的行号，错误按照该行号匹配
+            int logicalRow = firstDataRow;
+            int rowIndex = firstDataRow;
+            while (rowIterator.hasNext()) {
+                final Object rowData = rowIterator.next();
+                // 超过最大行数时写入续表
+                if (rowIndex >= maxRows) {
+                    sheet = createSheet();
+                    rowIndex = firstDataRow;
+                }
+                Row row = sheet.createRow(rowIndex++);
+                for (int col = 0; col < columns.length; col++) {
+                    final ExcelWriterHeader v = columns[col];
+                    Cell cell = row.createCell(col);
+                    if (columnStyles[col] != null) {
+                        cell.setCellStyle(columnStyles[col]);
+                    }
+                    // 基本类型的字段直接写入数字，估算列宽的行仍然需要装箱后的值
+                    if (sampleRows == 0 && writeNumeric(cell, rowData, col)) {
+                        continue;
+                    }
+                    final Object cellValue = toCellValue(v, valueReader.read(rowData, col));
+                    ExcelBeanHelper.autoFitCell(cell, cellValue);
+                    if (sampleRows > 0) {
+                        textWidths[col] = Math.max(textWidths[col], ExcelBeanHelper.estimateTextWidth(cellValue));
+                    }
+                }
+                if (sampleRows > 0) {
+                    sampleRows--;
+                }
+                // 写错误数据，行被刷新到临时文件之前写入
+                final Map<Integer, ExcelImportError> rowErrors = errors.get(logicalRow++);
+                if (rowErrors != null) {
+                    writeErrors(sheets.size() - 1, row, rowErrors);
+                }
+            }
+            if (widthStrategy == ColumnWidthStrategy.ESTIMATE) {
+                for (Sheet s : sheets) {
+                    for (int col = 0; col < textWidths.length; col++) {
+                        ExcelBeanHelper.estimateColumnWidth(s, col, textWidths[col]);
+                    }
+                }
+            }
+            if (errors.ceilingKey(logicalRow) != null) {
+                logger.warn("errors after the last row {} are ignored", logicalRow - 1);
+            }
         }
 
-        // 写错误数据
-        final List<ExcelImportError> errors = context.getErrors();
-        errors.forEach(error -> {
-            final Cell cell = sheet.getRow(error.getRow()).getCell(error.getCol());
-            final CellStyle style = this.createErrorCellStyle();
-            cell.setCellValue(error.getVal());
-            cell.setCellStyle(style);
-            // 错误批注
-            if (StringUtils.isNotEmpty(error.getMsg())) {
-                final Comment comment = createComment(sheet, drawing, error.getMsg(), cell.getRowIndex(), cell.getColumnIndex());
-                cell.setCellComment(comment);
+        /**
+         * 不装箱地写入基本类型的字段
+         *
+         * @return 是否已经写入，该列不是基本类型的字段或者值无法写入为数字时为 {@code false}
+         */
+        private boolean writeNumeric(Cell cell, Object rowData, int col) {
+            final PrimitiveConverter<?> convert = primitiveConverters[col];
+            if (convert == null) {
+                return false;
             }
-        });
-        return this;
+            final FieldAccessor accessor = valueReader.accessor(rowData, col);
+            if (accessor == null || accessor.getField().getType() != convert.primitiveType()) {
+                return false;
+            }
+            final double value = convert.readNumeric(rowData, accessor);
+            if (Double.isNaN(value)) {
+                return false;
+            }
+            cell.setCellValue(value);
+            return true;
+        }
+
+        /**
+         * 将一行的错误写入该行，错误的样式与批注需要修改工作簿，会锁住工作簿
+         *
+         * @param sheetIndex 该行所在的表在 {@link #sheets} 中的下标
+         * @param row        行
+         * @param rowErrors  该行的错误，key 为列
+         */
+        private void writeErrors(int sheetIndex, Row row, Map<Integer, ExcelImportError> rowErrors) {
+            synchronized (workbook) {
+                rowErrors.forEach((col, error) -> {
+                    Cell cell = row.getCell(col);
+                    if (cell == null) {
+                        cell = row.createCell(col);
+                    }
+                    final ExcelCellStyle columnStyle = col < columns.length ? columns[col].getStyle() : null;
+                    final CellStyle style = styleRegistry.get(columnStyle == null ? ExcelCellStyle.ERROR : columnStyle.merge(ExcelCellStyle.ERROR));
+                    cell.setCellValue(error.getVal());
+                    cell.setCellStyle(style);
+                    // 错误批注
+                    if (StringUtils.isNotEmpty(error.getMsg())) {
+                        final Comment comment = createComment(sheets.get(sheetIndex), drawings.get(sheetIndex), error.getMsg(), row.getRowNum(), col);
+                        cell.setCellComment(comment);
+                    }
+                });
+            }
+        }
     }
 
     /**
-     * 获取表头样式
+     * 将字段的值转换为单元格的值
+     *
+     * @param header 列
+     * @param value  字段的值
+     * @return 单元格的值，类型为 String、Number、Boolean 或者 Date，为 {@code null} 时不写入
      */
-    private CellStyle getHeaderStyle() {
-        CellStyle cellStyle = workbook.createCellStyle();
-        cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        cellStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        Font font = workbook.createFont();
-        font.setBold(true);
-        cellStyle.setFont(font);
-        return cellStyle;
+    static Object toCellValue(ExcelWriterHeader header, Object value) {
+        if (value == null) {
+            return null;
+        }
+        switch (header.getType()) {
+            case TEXT:
+                // 没有重写 toCellValue 的转换器返回的是文本，按照声明的单元格类型转换
+                final IConverter<Object> convert = header.getConvert();
+                return convert.cellType().toCellValue(convert.toCellValue(value));
+            case SELECT:
+                return header.getSelectMap().getOrDefault(value, null);
+            default:
+                return null;
+        }
     }
 
     /**
@@ -184,22 +417,12 @@ public class DefaultExcelWriter implements ExcelWriter {
                 : new HSSFClientAnchor(0, 0, 0, 0, (short) (col + 3), row + 3, (short) (col + 5), row + 8 + rowNum)
         );
         comment.setString(this.excelType == ExcelType.XLSX ? new XSSFRichTextString(prompt) : new HSSFRichTextString(prompt));
+        // 批注默认属于锚点左上角的单元格，需要指定为所在的单元格
+        comment.setAddress(row, col);
         return comment;
     }
 
 
-    /**
-     * 获取错误样式
-     */
-    private CellStyle createErrorCellStyle() {
-        final CellStyle style = workbook.createCellStyle();
-        style.setFillForegroundColor(IndexedColors.RED1.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        style.setFillBackgroundColor(IndexedColors.RED1.getIndex());
-        style.setFillPattern(FillPatternType.BIG_SPOTS);
-        return style;
-    }
-
     /**
      * 创建工作本
      *
@@ -208,19 +431,65 @@ public class DefaultExcelWriter implements ExcelWriter {
     private void createWorkbookIfNull(ExcelWriteContext context) {
         // 不存在则创建目录
         if (null == workbook) {
-            workbook = excelType.workbook(context.getDatasource().size());
+            // 行数未知时按照大数据量处理
+            final int rowCount = context.getRowCount();
+            workbook = excelType.workbook(rowCount < 0 ? Integer.MAX_VALUE : rowCount, policy);
+            styleRegistry = new CellStyleRegistry(workbook);
         }
     }
 
 
+    /**
+     * 等待所有并发写入的表完成，任意一张表失败时抛出第一个（按照导出的顺序）异常
+     * 续表在写入线程中创建，此时之后的表已经创建，所以完成后需要把续表移动到原表之后
+     */
+    private void awaitSheets() {
+        joinSheetsQuietly();
+        try {
+            sheetFutures.forEach(CompletableFuture::join);
+            int position = 0;
+            for (SheetWriter sheetWriter : sheetWriters) {
+                for (Sheet sheet : sheetWriter.sheets) {
+                    workbook.setSheetOrder(sheet.getSheetName(), position++);
+                }
+            }
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new ExcelException(cause);
+        } finally {
+            sheetFutures.clear();
+            sheetWriters.clear();
+        }
+    }
+
+    /**
+     * 等待所有并发写入的表结束，忽略异常
+     */
+    private void joinSheetsQuietly() {
+        CompletableFuture.allOf(sheetFutures.toArray(new CompletableFuture<?>[0]))
+                .exceptionally(e -> null)
+                .join();
+    }
+
+    /**
+     * 删除流式写入的临时文件
+     */
+    private void dispose() {
+        if (workbook instanceof SXSSFWorkbook && !((SXSSFWorkbook) workbook).dispose()) {
+            logger.warn("failed to delete temp files of the streaming workbook");
+        }
+    }
+
     @Override
     public void write() {
         try {
+            awaitSheets();
             this.workbook.write(outputStream);
         } catch (IOException e) {
             throw new ExcelException(e);
         } finally {
             // 释放资源
+            dispose();
             try {
                 this.workbook.close();
                 outputStream.flush();
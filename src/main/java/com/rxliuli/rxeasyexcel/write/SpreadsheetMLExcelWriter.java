@@ -0,0 +1,422 @@
+package com.rxliuli.rxeasyexcel.write;
+
+import com.rxliuli.rxeasyexcel.ExcelException;
+import com.rxliuli.rxeasyexcel.domain.ColumnWidthStrategy;
+import com.rxliuli.rxeasyexcel.domain.ExcelCellStyle;
+import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
+import com.rxliuli.rxeasyexcel.domain.ExcelType;
+import com.rxliuli.rxeasyexcel.domain.ExcelWriteContext;
+import com.rxliuli.rxeasyexcel.domain.ExcelWriterHeader;
+import com.rxliuli.rxeasyexcel.domain.select.ExcelColumnType;
+import com.rxliuli.rxeasyexcel.internal.util.Assert;
+import com.rxliuli.rxeasyexcel.internal.util.ExcelBeanHelper;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 直接输出 SpreadsheetML（xlsx）的写入类，不经过 POI 的 Workbook/Row/Cell 对象
+ * 每一行在生成后立刻写入压缩流，字符串使用内联字符串，数字、布尔与日期写入为对应类型的单元格，内存占用与行数无关，适合数据量很大的普通数据导出
+ * 注:
+ * 1. 仅支持 xlsx，不支持 {@link ExcelWriteContext#getCreateSheetHook()}
+ * 2. 表头提示与错误消息使用数据验证的输入信息（选中单元格时显示）代替批注
+ * 3. 列宽总是根据字符数估算，{@link ColumnWidthStrategy#AUTO_SIZE} 与 {@link ColumnWidthStrategy#ESTIMATE} 相同
+ * 4. 不支持续表，行数超过 xlsx 的最大行数或 {@link ExcelWriteContext#getMaxRowsPerSheet()} 时抛出 {@link ExcelException}
+ *
+ * @author rxliuli
+ */
+public class SpreadsheetMLExcelWriter implements ExcelWriter {
+    private static Logger logger = LoggerFactory.getLogger(SpreadsheetMLExcelWriter.class);
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    /**
+     * 数据验证的输入信息的最大长度
+     */
+    private static final int MAX_PROMPT_LENGTH = 255;
+
+    private final ZipOutputStream zip;
+    /**
+     * 写入当前 zip 条目的字符流，不会关闭 zip
+     */
+    private final Writer out;
+    private final SpreadsheetMLStyles styles = new SpreadsheetMLStyles();
+    /**
+     * 已经写入的表名
+     */
+    private final List<String> sheetNames = new ArrayList<>();
+
+    public SpreadsheetMLExcelWriter(OutputStream outputStream) {
+        Assert.notNull(outputStream, "outputStream can't be null");
+        this.zip = new ZipOutputStream(outputStream);
+        this.out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public SpreadsheetMLExcelWriter export(ExcelWriteContext context) {
+        final int sheetIndex = sheetNames.size() + 1;
+        final String sheetName = StringUtils.isEmpty(context.getSheetName()) ? "Sheet" + sheetIndex : context.getSheetName();
+        WorkbookUtil.validateSheetName(sheetName);
+        Assert.state(!sheetNames.contains(sheetName), "duplicate sheet name: " + sheetName);
+        sheetNames.add(sheetName);
+        try {
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetIndex + ".xml"));
+            new SheetXmlWriter(context).write();
+            out.flush();
+            zip.closeEntry();
+        } catch (IOException e) {
+            throw new ExcelException(e);
+        } finally {
+            context.closeDatasource();
+        }
+        return this;
+    }
+
+    @Override
+    public void write() {
+        try {
+            Assert.state(!sheetNames.isEmpty(), "at least one sheet must be exported");
+            entry("[Content_Types].xml", contentTypes());
+            entry("_rels/.rels", XML_HEADER
+                    + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                    + "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                    + "</Relationships>");
+            entry("xl/workbook.xml", workbook());
+            entry("xl/_rels/workbook.xml.rels", workbookRels());
+            zip.putNextEntry(new ZipEntry("xl/styles.xml"));
+            styles.write(out);
+            out.flush();
+            zip.closeEntry();
+            zip.finish();
+        } catch (IOException e) {
+            throw new ExcelException(e);
+        } finally {
+            try {
+                zip.close();
+            } catch (IOException e) {
+                logger.error("write fail", e);
+            }
+        }
+    }
+
+    private void entry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        out.write(content);
+        out.flush();
+        zip.closeEntry();
+    }
+
+    private String contentTypes() {
+        final StringBuilder sb = new StringBuilder(XML_HEADER)
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+                .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            sb.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        return sb.append("</Types>").toString();
+    }
+
+    private String workbook() throws IOException {
+        final StringBuilder sb = new StringBuilder(XML_HEADER)
+                .append("<workbook xmlns=\"").append(MAIN_NS).append("\" xmlns:r=\"").append(REL_NS).append("\"><sheets>");
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            sb.append("<sheet name=\"").append(escape(sheetNames.get(i - 1)))
+                    .append("\" sheetId=\"").append(i)
+                    .append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        return sb.append("</sheets></workbook>").toString();
+    }
+
+    private String workbookRels() {
+        final StringBuilder sb = new StringBuilder(XML_HEADER)
+                .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            sb.append("<Relationship Id=\"rId").append(i)
+                    .append("\" Type=\"").append(REL_NS).append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        return sb.append("<Relationship Id=\"rId").append(sheetNames.size() + 1)
+                .append("\" Type=\"").append(REL_NS).append("/styles\" Target=\"styles.xml\"/>")
+                .append("</Relationships>")
+                .toString();
+    }
+
+    /**
+     * 转义 xml 中的特殊字符，并且去掉 xml 1.0 不允许的控制字符
+     */
+    static void escape(Writer out, String text) throws IOException {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            final char c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    out.write("&amp;");
+                    break;
+                case '<':
+                    out.write("&lt;");
+                    break;
+                case '>':
+                    out.write("&gt;");
+                    break;
+                case '"':
+                    out.write("&quot;");
+                    break;
+                default:
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        out.write(c);
+                    }
+            }
+        }
+    }
+
+    private static String escape(String text) throws IOException {
+        final StringWriter writer = new StringWriter(text.length());
+        escape(writer, text);
+        return writer.toString();
+    }
+
+    /**
+     * 输出一张表的 xml，一次性使用
+     */
+    private class SheetXmlWriter {
+        private final ExcelWriteContext context;
+        private final ExcelWriterHeader[] columns;
+        /**
+         * 每一列的列名，例如 A、B
+         */
+        private final String[] columnNames;
+        /**
+         * 每一列数据单元格的 xf 下标
+         */
+        private final int[] columnStyles;
+        /**
+         * 估算列宽时每一列的最大字符宽度，不估算时为 {@code null}
+         */
+        private final int[] textWidths;
+        /**
+         * 行号与该行的错误，key 为列
+         */
+        private final Map<Integer, Map<Integer, ExcelImportError>> errors = new HashMap<>();
+        /**
+         * 数据验证，写在 sheetData 之后
+         */
+        private final StringBuilder dataValidations = new StringBuilder();
+        private int dataValidationCount = 0;
+        /**
+         * 表的最大行数
+         */
+        private final int maxRows;
+
+        SheetXmlWriter(ExcelWriteContext context) {
+            this.context = context;
+            this.columns = context.getHeaders().values().toArray(new ExcelWriterHeader[0]);
+            this.columnNames = new String[columns.length];
+            this.columnStyles = new int[columns.length];
+            for (int col = 0; col < columns.length; col++) {
+                columnNames[col] = CellReference.convertNumToColString(col);
+                columnStyles[col] = styles.get(columns[col].getStyle());
+            }
+            this.textWidths = context.getColumnWidthStrategy() == ColumnWidthStrategy.NONE ? null : new int[columns.length];
+            for (ExcelImportError error : context.getErrors()) {
+                errors.computeIfAbsent(error.getRow(), k -> new HashMap<>()).put(error.getCol(), error);
+            }
+            final int maxRowsPerSheet = context.getMaxRowsPerSheet();
+            this.maxRows = maxRowsPerSheet > 0 ? Math.min(maxRowsPerSheet, ExcelType.XLSX.getMaxRows()) : ExcelType.XLSX.getMaxRows();
+        }
+
+        void write() throws IOException {
+            final int headerRow = context.getStartRow();
+            final Object[] headerTexts = new Object[columns.length];
+            for (int col = 0; col < columns.length; col++) {
+                final ExcelWriterHeader header = columns[col];
+                headerTexts[col] = header.getName();
+                if (StringUtils.isNotEmpty(header.getPrompt())) {
+                    addPrompt(columnNames[col] + (headerRow + 1), header.getPrompt());
+                }
+                if (header.getType() == ExcelColumnType.SELECT) {
+                    addSelect(col, header.getSelectMap().values());
+                }
+            }
+            measure(headerTexts);
+
+            // 估算列宽需要在 sheetData 之前写入 cols，先缓存参考的行
+            final Iterator<?> rowIterator = context.getSourceRowIterator();
+            final ColumnValueReader valueReader = new ColumnValueReader(context.getHeaders().keySet());
+            final List<Object[]> sampleRows = new ArrayList<>();
+            final int sampleCount = textWidths == null ? 0 : context.getColumnWidthSampleRows();
+            while (sampleRows.size() < sampleCount && rowIterator.hasNext()) {
+                final Object[] values = toValues(valueReader, rowIterator.next());
+                measure(values);
+                sampleRows.add(values);
+            }
+
+            out.write(XML_HEADER);
+            out.write("<worksheet xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + REL_NS + "\">");
+            writeCols();
+            out.write("<sheetData>");
+            int rowIndex = headerRow;
+            writeRow(rowIndex++, headerTexts, styles.get(ExcelCellStyle.HEADER));
+            for (Object[] values : sampleRows) {
+                writeRow(rowIndex++, values, -1);
+            }
+            sampleRows.clear();
+            while (rowIterator.hasNext()) {
+                writeRow(rowIndex++, toValues(valueReader, rowIterator.next()), -1);
+            }
+            out.write("</sheetData>");
+            if (dataValidationCount > 0) {
+                out.write("<dataValidations count=\"" + dataValidationCount + "\">");
+                out.write(dataValidations.toString());
+                out.write("</dataValidations>");
+            }
+            out.write("</worksheet>");
+        }
+
+        private Object[] toValues(ColumnValueReader valueReader, Object rowData) {
+            final Object[] values = new Object[columns.length];
+            for (int col = 0; col < columns.length; col++) {
+                values[col] = DefaultExcelWriter.toCellValue(columns[col], valueReader.read(rowData, col));
+            }
+            return values;
+        }
+
+        private void measure(Object[] values) {
+            if (textWidths == null) {
+                return;
+            }
+            for (int col = 0; col < values.length; col++) {
+                textWidths[col] = Math.max(textWidths[col], ExcelBeanHelper.estimateTextWidth(values[col]));
+            }
+        }
+
+        private void writeCols() throws IOException {
+            if (textWidths == null || columns.length == 0) {
+                return;
+            }
+            out.write("<cols>");
+            for (int col = 0; col < columns.length; col++) {
+                final int column = col + 1;
+                out.write("<col min=\"" + column + "\" max=\"" + column + "\" width=\""
+                        + Math.min(textWidths[col] + 2, 255) + "\" customWidth=\"1\"/>");
+            }
+            out.write("</cols>");
+        }
+
+        /**
+         * 写入一行
+         *
+         * @param rowIndex 行号，从 0 开始
+         * @param values   每一列的值
+         * @param style    所有单元格的 xf 下标，为 -1 时使用每一列的样式
+         * @throws ExcelException 行号超过表的最大行数
+         */
+        private void writeRow(int rowIndex, Object[] values, int style) throws IOException {
+            if (rowIndex >= maxRows) {
+                throw new ExcelException("行数超过了每张表的最大行数 " + maxRows + "，SpreadsheetMLExcelWriter 不支持续表，请使用 EasyExcel.export() 导出");
+            }
+            final String rowNum = Integer.toString(rowIndex + 1);
+            final Map<Integer, ExcelImportError> rowErrors = errors.get(rowIndex);
+            out.write("<row r=\"");
+            out.write(rowNum);
+            out.write("\">");
+            for (int col = 0; col < values.length; col++) {
+                Object value = values[col];
+                int cellStyle = style < 0 ? columnStyles[col] : style;
+                final ExcelImportError error = rowErrors == null ? null : rowErrors.get(col);
+                if (error != null) {
+                    value = error.getVal();
+                    final ExcelCellStyle columnStyle = columns[col].getStyle();
+                    cellStyle = styles.get(columnStyle == null ? ExcelCellStyle.ERROR : columnStyle.merge(ExcelCellStyle.ERROR));
+                    // 一个单元格只能有一个数据验证，下拉框列不显示错误消息
+                    if (StringUtils.isNotEmpty(error.getMsg()) && columns[col].getType() != ExcelColumnType.SELECT) {
+                        addPrompt(columnNames[col] + rowNum, error.getMsg());
+                    }
+                }
+                if (value == null && cellStyle == 0) {
+                    continue;
+                }
+                out.write("<c r=\"");
+                out.write(columnNames[col]);
+                out.write(rowNum);
+                out.write('"');
+                if (cellStyle != 0) {
+                    out.write(" s=\"");
+                    out.write(Integer.toString(cellStyle));
+                    out.write('"');
+                }
+                writeValue(value);
+            }
+            out.write("</row>");
+        }
+
+        /**
+         * 写入单元格的类型与值，并结束单元格
+         */
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                out.write("/>");
+            } else if (value instanceof Number) {
+                out.write("><v>");
+                out.write(value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString());
+                out.write("</v></c>");
+            } else if (value instanceof Boolean) {
+                out.write(" t=\"b\"><v>");
+                out.write((Boolean) value ? "1" : "0");
+                out.write("</v></c>");
+            } else if (value instanceof Date) {
+                out.write("><v>");
+                out.write(Double.toString(DateUtil.getExcelDate((Date) value)));
+                out.write("</v></c>");
+            } else {
+                out.write(" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                escape(out, value.toString());
+                out.write("</t></is></c>");
+            }
+        }
+
+        /**
+         * 使用数据验证的输入信息作为提示
+         */
+        private void addPrompt(String ref, String prompt) throws IOException {
+            dataValidations.append("<dataValidation allowBlank=\"1\" showInputMessage=\"1\" prompt=\"")
+                    .append(escape(StringUtils.left(prompt, MAX_PROMPT_LENGTH)))
+                    .append("\" sqref=\"").append(ref).append("\"/>");
+            dataValidationCount++;
+        }
+
+        /**
+         * 下拉框，作用于从第一行数据到 xlsx 最大行数的所有行
+         */
+        private void addSelect(int col, Iterable<String> values) throws IOException {
+            final String list = String.join(",", values).replace("\"", "\"\"");
+            dataValidations.append("<dataValidation type=\"list\" allowBlank=\"1\" showErrorMessage=\"1\" sqref=\"")
+                    .append(columnNames[col]).append(context.getStartRow() + 2).append(':')
+                    .append(columnNames[col]).append(ExcelType.XLSX.getMaxRows()).append("\"><formula1>\"")
+                    .append(escape(list))
+                    .append("\"</formula1></dataValidation>");
+            dataValidationCount++;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.rxliuli.rxeasyexcel.write;
+
+import com.rxliuli.rxeasyexcel.domain.ExcelCellStyle;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link SpreadsheetMLExcelWriter} 的样式表，相同描述的样式只会生成一个 xf，写入结束时输出为 styles.xml
+ *
+ * @author rxliuli
+ */
+class SpreadsheetMLStyles {
+    /**
+     * 与 {@link FillPatternType#getCode()} 对应的 ST_PatternType
+     */
+    private static final String[] PATTERN_TYPES = {
+            "none", "solid", "mediumGray", "darkGray", "lightGray", "darkHorizontal", "darkVertical", "darkDown", "darkUp",
+            "darkGrid", "darkTrellis", "lightHorizontal", "lightVertical", "lightDown", "lightUp", "lightGrid", "lightTrellis",
+            "gray125", "gray0625",
+    };
+    /**
+     * 自定义数据格式的起始 id
+     */
+    private static final int FIRST_CUSTOM_FORMAT = 164;
+
+    /**
+     * 样式与 xf 的下标，0 为默认样式
+     */
+    private final Map<ExcelCellStyle, Integer> xfs = new LinkedHashMap<>();
+    /**
+     * 自定义的数据格式与 id
+     */
+    private final Map<String, Integer> numFmts = new LinkedHashMap<>();
+    /**
+     * 填充的描述与下标，前两个为 Excel 要求的 none 与 gray125
+     */
+    private final List<String> fills = new ArrayList<>();
+    private final Map<String, Integer> fillIndexes = new HashMap<>();
+
+    SpreadsheetMLStyles() {
+        xfs.put(ExcelCellStyle.of(), 0);
+        fill("<patternFill patternType=\"none\"/>");
+        fill("<patternFill patternType=\"gray125\"/>");
+    }
+
+    /**
+     * 获取样式对应的 xf 下标，不存在时创建
+     *
+     * @param style 样式描述，为 {@code null} 时为默认样式
+     * @return xf 下标
+     */
+    int get(ExcelCellStyle style) {
+        if (style == null) {
+            return 0;
+        }
+        return xfs.computeIfAbsent(style, k -> xfs.size());
+    }
+
+    /**
+     * 输出 styles.xml
+     */
+    void write(Writer out) throws IOException {
+        final StringBuilder cellXfs = new StringBuilder();
+        for (ExcelCellStyle style : xfs.keySet()) {
+            final int numFmtId = numFmt(style.getDataFormat());
+            final int fontId = Boolean.TRUE.equals(style.getBold()) ? 1 : 0;
+            final int fillId = fill(style);
+            cellXfs.append("<xf numFmtId=\"").append(numFmtId)
+                    .append("\" fontId=\"").append(fontId)
+                    .append("\" fillId=\"").append(fillId)
+                    .append("\" borderId=\"0\" xfId=\"0\"");
+            if (numFmtId != 0) {
+                cellXfs.append(" applyNumberFormat=\"1\"");
+            }
+            if (fontId != 0) {
+                cellXfs.append(" applyFont=\"1\"");
+            }
+            if (fillId != 0) {
+                cellXfs.append(" applyFill=\"1\"");
+            }
+            cellXfs.append("/>");
+        }
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        out.write("<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+        if (!numFmts.isEmpty()) {
+            out.write("<numFmts count=\"" + numFmts.size() + "\">");
+            for (Map.Entry<String, Integer> entry : numFmts.entrySet()) {
+                out.write("<numFmt numFmtId=\"" + entry.getValue() + "\" formatCode=\"");
+                SpreadsheetMLExcelWriter.escape(out, entry.getKey());
+                out.write("\"/>");
+            }
+            out.write("</numFmts>");
+        }
+        out.write("<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+                + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>");
+        out.write("<fills count=\"" + fills.size() + "\">");
+        for (String fill : fills) {
+            out.write("<fill>" + fill + "</fill>");
+        }
+        out.write("</fills>");
+        out.write("<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>");
+        out.write("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>");
+        out.write("<cellXfs count=\"" + xfs.size() + "\">" + cellXfs + "</cellXfs>");
+        out.write("<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>");
+        out.write("</styleSheet>");
+    }
+
+    private int numFmt(String dataFormat) {
+        if (dataFormat == null) {
+            return 0;
+        }
+        final int builtin = BuiltinFormats.getBuiltinFormat(dataFormat);
+        if (builtin >= 0) {
+            return builtin;
+        }
+        return numFmts.computeIfAbsent(dataFormat, k -> FIRST_CUSTOM_FORMAT + numFmts.size());
+    }
+
+    private int fill(ExcelCellStyle style) {
+        final FillPatternType pattern = style.getFillPattern();
+        if (pattern == null || pattern == FillPatternType.NO_FILL) {
+            return 0;
+        }
+        final StringBuilder fill = new StringBuilder("<patternFill patternType=\"")
+                .append(PATTERN_TYPES[pattern.getCode()])
+                .append("\">");
+        appendColor(fill, "fgColor", style.getFillForegroundColor());
+        appendColor(fill, "bgColor", style.getFillBackgroundColor());
+        return fill(fill.append("</patternFill>").toString());
+    }
+
+    private int fill(String fill) {
+        return fillIndexes.computeIfAbsent(fill, k -> {
+            fills.add(k);
+            return fills.size() - 1;
+        });
+    }
+
+    private static void appendColor(StringBuilder fill, String name, IndexedColors color) {
+        if (color != null) {
+            fill.append('<').append(name).append(" indexed=\"").append(color.getIndex()).append("\"/>");
+        }
+    }
+}
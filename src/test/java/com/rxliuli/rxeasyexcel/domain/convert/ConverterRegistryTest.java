@@ -0,0 +1,70 @@
+package com.rxliuli.rxeasyexcel.domain.convert;
+
+import com.rxliuli.rxeasyexcel.domain.ExcelReadContext;
+import com.rxliuli.rxeasyexcel.domain.ExcelWriteContext;
+import com.rxliuli.rxeasyexcel.internal.util.ConvertHelper;
+import com.rxliuli.rxeasyexcel.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author rxliuli
+ */
+class ConverterRegistryTest {
+
+    /**
+     * 新的注册表只在使用它的上下文中生效，未注册的类型使用全局注册表
+     */
+    @Test
+    void scoped() {
+        final ConverterRegistry registry = ConverterRegistry.create()
+                .register(String.class, UpperCaseConverter.class);
+        assertThat(registry.get(String.class)).isEqualTo(UpperCaseConverter.class);
+        assertThat(registry.get(int.class)).isEqualTo(IntegerConverter.class);
+        assertThat(ConverterRegistry.global().get(String.class)).isEqualTo(DefaultConverter.class);
+
+        final ExcelWriteContext writeContext = ExcelWriteContext.builder()
+                .datasource(Collections.singletonList(new User("rx", "passwd")))
+                .converters(registry)
+                .build();
+        assertThat(writeContext.getHeaders().get("username").getConvert()).isInstanceOf(UpperCaseConverter.class);
+        final ExcelReadContext<User> readContext = ExcelReadContext.<User>builder()
+                .clazz(User.class)
+                .converters(registry)
+                .build();
+        assertThat(readContext.getHeaders().get("username").getConvert()).isInstanceOf(UpperCaseConverter.class);
+        assertThat(ExcelWriteContext.builder()
+                .datasource(Collections.singletonList(new User("rx", "passwd")))
+                .build()
+                .getHeaders().get("username").getConvert()).isInstanceOf(DefaultConverter.class);
+    }
+
+    /**
+     * 并发获取时同一个转换器类型只有一个实例
+     */
+    @Test
+    void sameInstance() {
+        final Set<Object> instances = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 1000).parallel()
+                .forEach(i -> instances.add(ConvertHelper.getConvert(UpperCaseConverter.class)));
+        assertThat(instances).hasSize(1);
+    }
+
+    public static class UpperCaseConverter implements IConverter<String> {
+        @Override
+        public String to(String s) {
+            return s.toUpperCase();
+        }
+
+        @Override
+        public String from(String s) {
+            return s;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.rxliuli.rxeasyexcel.domain.convert;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author rxliuli
+ */
+class LocalDateTimeConverterTest {
+    private final IConverter<LocalDateTime> converter = new LocalDateTimeConverter().forColumn();
+    private final LocalDateTime time = LocalDateTime.of(2018, 12, 11, 8, 30, 5);
+
+    @Test
+    void from() {
+        assertThat(converter.from(converter.to(time)))
+                .isEqualTo(time);
+        assertThat(converter.from("2018-12-11 08:30:05"))
+                .isEqualTo(time);
+        assertThat(converter.from("2018-12-11T08:30:05"))
+                .isEqualTo(time);
+        assertThat(converter.from("2018/12/11 8:30:05"))
+                .isEqualTo(time);
+        assertThat(converter.from("2018-12-11"))
+                .isEqualTo(time.toLocalDate().atStartOfDay());
+        assertThat(converter.from("2018-12-11T08:30:05.123"))
+                .isEqualTo(time.withNano(123_000_000));
+        final long epochMilli = time.toInstant(ZoneOffset.ofHours(8)).toEpochMilli();
+        assertThat(converter.from(Long.toString(epochMilli)))
+                .isEqualTo(time);
+    }
+
+    @Test
+    void fromInvalid() {
+        assertThatThrownBy(() -> converter.from("2018-12-11 08"))
+                .isInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> converter.from("2018-02-30"))
+                .isInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> converter.from("99999999999999999999"))
+                .isInstanceOf(DateTimeParseException.class);
+    }
+
+    @Test
+    void forColumn() {
+        assertThat(converter.forColumn())
+                .isNotSameAs(converter)
+                .isInstanceOf(LocalDateTimeConverter.class);
+    }
+}
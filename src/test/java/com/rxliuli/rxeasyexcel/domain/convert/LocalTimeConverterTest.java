@@ -26,4 +26,14 @@ class LocalTimeConverterTest {
         assertThat(converter.from(TIME_FORMATTER.format(now)))
                 .isEqualTo(TIME_FORMATTER.format(now));
     }
+
+    @Test
+    void forColumn() {
+        final IConverter<LocalTime> column = converter.forColumn();
+        assertThat(column)
+                .isNotSameAs(converter)
+                .isInstanceOf(LocalTimeConverter.class);
+        assertThat(column.from("8:30"))
+                .isEqualTo(LocalTime.of(8, 30));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.rxliuli.rxeasyexcel.domain.convert;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author rxliuli
+ */
+class TemporalSnifferTest {
+    private final TemporalSniffer sniffer = new TemporalSniffer(TemporalSniffer.DATE_TIME_FORMATS);
+
+    /**
+     * 统计结束后固定匹配次数最多的格式，而不是最后一次匹配的格式
+     */
+    @Test
+    void learnDominantFormat() {
+        for (int i = 0; i < TemporalSniffer.LEARN_SAMPLES - 1; i++) {
+            sniffer.parse(i % 3 == 0 ? "2018/12/11" : "2018-12-11 08:30");
+            assertThat(sniffer.dominantFormat()).isNull();
+        }
+        sniffer.parse("2018/12/11");
+        assertThat(sniffer.dominantFormat()).isSameAs(TemporalSniffer.DATE_TIME_FORMATS[1]);
+
+        // 其它格式的值仍然可以解析，并且不会改变优先的格式
+        assertThat(TemporalSniffer.toLocalDate(sniffer.parse("2018-12-11T08:30"), "2018-12-11T08:30"))
+                .isEqualTo(LocalDate.of(2018, 12, 11));
+        assertThat(sniffer.tryParse("2018.12.11")).isNull();
+        assertThat(sniffer.dominantFormat()).isSameAs(TemporalSniffer.DATE_TIME_FORMATS[1]);
+    }
+}
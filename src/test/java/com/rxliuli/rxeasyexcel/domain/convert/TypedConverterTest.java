@@ -0,0 +1,48 @@
+package com.rxliuli.rxeasyexcel.domain.convert;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author rxliuli
+ */
+class TypedConverterTest {
+
+    @Test
+    void fromNumeric() {
+        assertThat(new IntegerConverter().fromNumeric(17.4)).isEqualTo(17);
+        assertThat(new LongConverter().fromNumeric(1e12)).isEqualTo(1000000000000L);
+        assertThat(new DoubleConverter().fromNumeric(3.5)).isEqualTo(3.5);
+        assertThat(new BigDecimalConverter().fromNumeric(0.1)).isEqualTo(new BigDecimal("0.1"));
+        assertThatThrownBy(() -> new IntegerConverter().fromNumeric(1e10))
+                .isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void fromDate() {
+        final Date date = new Date();
+        assertThat(new DateConverter().fromDate(date)).isSameAs(date);
+        assertThat(new LongConverter().fromDate(date)).isEqualTo(date.getTime());
+    }
+
+    @Test
+    void fromBoolean() {
+        assertThat(new BooleanConverter().fromBoolean(true)).isTrue();
+    }
+
+    /**
+     * 未重写的转换器仍然使用字符串进行转换
+     */
+    @Test
+    void fallbackToString() {
+        final DefaultConverter converter = new DefaultConverter();
+        assertThat(converter.fromNumeric(17.6)).isEqualTo("18");
+        assertThat(converter.fromBoolean(false)).isEqualTo("false");
+        assertThat(converter.fromDate(new Date(1000L))).isEqualTo("1000");
+    }
+}
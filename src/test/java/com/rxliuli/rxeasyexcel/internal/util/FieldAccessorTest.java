@@ -0,0 +1,47 @@
+package com.rxliuli.rxeasyexcel.internal.util;
+
+import com.rxliuli.rxeasyexcel.ExcelException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author rxliuli
+ */
+class FieldAccessorTest {
+
+    @Test
+    void getAndSet() throws NoSuchFieldException {
+        final FieldAccessor name = FieldAccessor.of(Demo.class.getDeclaredField("name"));
+        final FieldAccessor age = FieldAccessor.of(Demo.class.getDeclaredField("age"));
+        final Demo demo = new Demo();
+        name.set(demo, "rx");
+        age.set(demo, 17);
+        assertThat(demo.name).isEqualTo("rx");
+        assertThat(demo.age).isEqualTo(17);
+        assertThat(name.get(demo)).isEqualTo("rx");
+        assertThat(age.get(demo)).isEqualTo(17);
+    }
+
+    @Test
+    void sameAccessorForSameField() throws NoSuchFieldException {
+        assertThat(FieldAccessor.of(Demo.class.getDeclaredField("name")))
+                .isSameAs(FieldAccessor.of(Demo.class.getDeclaredField("name")));
+    }
+
+    @Test
+    void primitive() throws NoSuchFieldException {
+        final FieldAccessor age = FieldAccessor.of(Demo.class.getDeclaredField("age"));
+        final Demo demo = new Demo();
+        age.setInt(demo, 17);
+        assertThat(age.getInt(demo)).isEqualTo(17);
+        assertThatThrownBy(() -> age.getLong(demo)).isInstanceOf(ExcelException.class);
+        assertThatThrownBy(() -> FieldAccessor.of(Demo.class.getDeclaredField("name")).getInt(demo)).isInstanceOf(ExcelException.class);
+    }
+
+    static class Demo {
+        private String name;
+        private int age;
+    }
+}
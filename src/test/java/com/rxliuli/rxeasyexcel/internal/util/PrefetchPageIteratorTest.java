@@ -0,0 +1,68 @@
+package com.rxliuli.rxeasyexcel.internal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author rxliuli
+ */
+class PrefetchPageIteratorTest {
+
+    @Test
+    void iterate() {
+        final List<Integer> result = new ArrayList<>();
+        new PrefetchPageIterator<>(pageNum -> pageNum > 3
+                ? Collections.<Integer>emptyList()
+                : Arrays.asList(pageNum * 10, pageNum * 10 + 1), 1, null)
+                .forEachRemaining(result::add);
+        assertThat(result).containsExactly(10, 11, 20, 21, 30, 31);
+    }
+
+    /**
+     * 获取数据时的异常由消费者抛出
+     */
+    @Test
+    void failure() {
+        final PrefetchPageIterator<Integer> iterator = new PrefetchPageIterator<>(pageNum -> {
+            if (pageNum > 1) {
+                throw new IllegalStateException("db down");
+            }
+            return Collections.singletonList(1);
+        }, 2, Runnable::run);
+        assertThat(iterator.next()).isEqualTo(1);
+        assertThatThrownBy(iterator::hasNext).isInstanceOf(IllegalStateException.class).hasMessage("db down");
+    }
+
+    /**
+     * 队列满时生产者等待消费者，关闭后生产者结束
+     */
+    @Test
+    void backpressureAndClose() throws InterruptedException {
+        final AtomicInteger fetched = new AtomicInteger();
+        final CountDownLatch stopped = new CountDownLatch(1);
+        final PrefetchPageIterator<Integer> iterator = new PrefetchPageIterator<>(pageNum -> {
+            fetched.set(pageNum);
+            return Collections.singletonList(pageNum);
+        }, 2, command -> new Thread(() -> {
+            command.run();
+            stopped.countDown();
+        }).start());
+        assertThat(iterator.next()).isEqualTo(1);
+        Thread.sleep(200);
+        // 当前页之外最多预取 2 页，生产者手上还有 1 页
+        assertThat(fetched.get()).isLessThanOrEqualTo(4);
+        iterator.close();
+        assertThat(stopped.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(iterator.hasNext()).isFalse();
+    }
+}
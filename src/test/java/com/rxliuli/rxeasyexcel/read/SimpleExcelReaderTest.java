@@ -2,6 +2,7 @@ package com.rxliuli.rxeasyexcel.read;
 
 import com.rxliuli.rxeasyexcel.EasyExcel;
 import com.rxliuli.rxeasyexcel.domain.ExcelReadContext;
+import com.rxliuli.rxeasyexcel.domain.ImportDomain;
 import com.rxliuli.rxeasyexcel.model.Id;
 import com.rxliuli.rxeasyexcel.model.User;
 import com.rxliuli.rxeasyexcel.model.UserWithAnnotation;
@@ -10,7 +11,11 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 /**
  * @author Quding Ding
@@ -89,6 +94,83 @@ public class SimpleExcelReaderTest {
         reader.close();
     }
 
+    @Test
+    public void testStream() {
+        InputStream inputStream = SimpleExcelReaderTest.class
+                .getClassLoader().getResourceAsStream("user.xlsx");
+
+        try (ExcelReader reader = EasyExcel.read(inputStream)) {
+            List<User> result = reader.stream(ExcelReadContext.<User>builder()
+                    .clazz(User.class)
+                    .build(), error -> Assert.fail(error.getMsg()))
+                    .collect(Collectors.toList());
+
+            Assert.assertEquals(result.size(), 5);
+            Assert.assertEquals(result.get(1).getUsername(), "张三1");
+        }
+    }
+
+    @Test
+    public void testResolveBatch() {
+        InputStream inputStream = SimpleExcelReaderTest.class
+                .getClassLoader().getResourceAsStream("ids.xlsx");
+        final List<Integer> batchSizes = new ArrayList<>();
+
+        try (ExcelReader reader = EasyExcel.read(inputStream)) {
+            reader.resolve(ExcelReadContext.<Id>builder()
+                    .clazz(Id.class)
+                    .build(), 500, batch -> batchSizes.add(batch.getData().size()));
+        }
+        Assert.assertEquals(Arrays.asList(500, 500, 332), batchSizes);
+    }
+
+    @Test
+    public void testResolveAll() {
+        InputStream inputStream = SimpleExcelReaderTest.class
+                .getClassLoader().getResourceAsStream("user3.xlsx");
+
+        try (ExcelReader reader = EasyExcel.read(inputStream)) {
+            final List<ImportDomain<?>> result = reader.resolveAll(Arrays.asList(
+                    ExcelReadContext.<UserWithAnnotation>builder()
+                            .clazz(UserWithAnnotation.class)
+                            .headerStart(1)
+                            .build(),
+                    ExcelReadContext.<UserWithAnnotation>builder()
+                            .clazz(UserWithAnnotation.class)
+                            .sheetIndex(1)
+                            .build()
+            ), ForkJoinPool.commonPool());
+
+            Assert.assertEquals(2, result.size());
+            Assert.assertEquals(5, result.get(0).getData().size());
+            Assert.assertEquals("张三1", ((UserWithAnnotation) result.get(0).getData().get(1)).getUsername());
+            Assert.assertEquals(5, result.get(1).getData().size());
+        }
+    }
+
+    @Test
+    public void testResolveParallel() {
+        final List<Long> expected;
+        try (ExcelReader reader = EasyExcel.read(SimpleExcelReaderTest.class.getClassLoader().getResourceAsStream("ids.xlsx"))) {
+            expected = reader.resolve(ExcelReadContext.<Id>builder()
+                    .clazz(Id.class)
+                    .build())
+                    .getData().stream()
+                    .map(Id::getId)
+                    .collect(Collectors.toList());
+        }
+        try (ExcelReader reader = EasyExcel.read(SimpleExcelReaderTest.class.getClassLoader().getResourceAsStream("ids.xlsx"))) {
+            final List<Long> result = reader.resolve(ExcelReadContext.<Id>builder()
+                    .clazz(Id.class)
+                    .parallel(ForkJoinPool.commonPool(), 100)
+                    .build())
+                    .getData().stream()
+                    .map(Id::getId)
+                    .collect(Collectors.toList());
+            Assert.assertEquals(expected, result);
+        }
+    }
+
     @Test
     public void testRead4() {
         new ExcelSelectTest().excelExport();
@@ -0,0 +1,193 @@
+package com.rxliuli.rxeasyexcel.read;
+
+import com.rxliuli.rxeasyexcel.EasyExcel;
+import com.rxliuli.rxeasyexcel.domain.ExcelReadContext;
+import com.rxliuli.rxeasyexcel.domain.ExcelType;
+import com.rxliuli.rxeasyexcel.domain.ExcelWriteContext;
+import com.rxliuli.rxeasyexcel.domain.ImportDomain;
+import com.rxliuli.rxeasyexcel.model.Id;
+import com.rxliuli.rxeasyexcel.model.User;
+import com.rxliuli.rxeasyexcel.write.ExcelWriter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author rxliuli
+ */
+class XlsStreamExcelReaderTest {
+    private static final int COUNT = 1000;
+    private static byte[] bytes;
+
+    @BeforeAll
+    static void exportXls() {
+        final List<User> users = IntStream.range(0, COUNT)
+                .mapToObj(i -> new User("张三" + i, UUID.randomUUID().toString()))
+                .collect(Collectors.toList());
+        final List<Id> ids = IntStream.range(0, COUNT)
+                .mapToObj(i -> new Id().setId((long) i))
+                .collect(Collectors.toList());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EasyExcel.export(ExcelType.XLS, out)
+                .export(ExcelWriteContext.builder()
+                        .datasource(users)
+                        .sheetName("user")
+                        .build())
+                .export(ExcelWriteContext.builder()
+                        .datasource(ids)
+                        .sheetName("id")
+                        .build())
+                .write();
+        bytes = out.toByteArray();
+    }
+
+    @Test
+    void streamReadDetectsXls() {
+        try (ExcelReader reader = EasyExcel.streamRead(new ByteArrayInputStream(bytes))) {
+            assertThat(reader).isInstanceOf(XlsStreamExcelReader.class);
+        }
+    }
+
+    /**
+     * 直接从文件中读取，与从输入流中读取的结果一致
+     */
+    @Test
+    void readFile() throws IOException {
+        final Path path = Files.createTempFile("XlsStreamExcelReaderTest", ".xls");
+        try {
+            Files.write(path, bytes);
+            final ExcelReadContext<Id> context = ExcelReadContext.<Id>builder()
+                    .clazz(Id.class)
+                    .sheetIndex(1)
+                    .build();
+            try (ExcelReader reader = EasyExcel.streamRead(path.toFile())) {
+                assertThat(reader).isInstanceOf(XlsStreamExcelReader.class);
+                assertThat(reader.resolve(context).getData()).hasSize(COUNT);
+            }
+            try (ExcelReader reader = EasyExcel.read(path.toFile())) {
+                assertThat(reader.resolve(context).getData()).hasSize(COUNT);
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * 直接从文件中并发读取多张 sheet
+     */
+    @Test
+    void resolveAllFile() throws IOException {
+        final int sheetCount = 8;
+        final int rows = 5000;
+        final Path path = Files.createTempFile("XlsStreamExcelReaderTest", ".xls");
+        final ExecutorService executor = Executors.newFixedThreadPool(sheetCount);
+        try {
+            try (OutputStream out = Files.newOutputStream(path)) {
+                final ExcelWriter writer = EasyExcel.export(ExcelType.XLS, out);
+                for (int i = 0; i < sheetCount; i++) {
+                    writer.export(ExcelWriteContext.builder()
+                            .datasource(LongStream.range((long) i * rows, (long) (i + 1) * rows)
+                                    .mapToObj(id -> new Id().setId(id))
+                                    .collect(Collectors.toList()))
+                            .sheetName("id" + i)
+                            .build());
+                }
+                writer.write();
+            }
+            final List<ExcelReadContext<?>> contexts = IntStream.range(0, sheetCount)
+                    .mapToObj(i -> ExcelReadContext.<Id>builder()
+                            .clazz(Id.class)
+                            .sheetIndex(i)
+                            .build())
+                    .collect(Collectors.toList());
+            try (ExcelReader reader = EasyExcel.streamRead(path.toFile())) {
+                final List<ImportDomain<?>> domains = reader.resolveAll(contexts, executor);
+                for (int i = 0; i < sheetCount; i++) {
+                    assertThat(domains.get(i).getData())
+                            .hasSize(rows)
+                            .extracting(id -> ((Id) id).getId())
+                            .startsWith((long) i * rows);
+                }
+            }
+        } finally {
+            executor.shutdown();
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * 与 {@link DefaultExcelReader} 的结果保持一致
+     */
+    @Test
+    void sameAsDefaultExcelReader() {
+        final ExcelReadContext<User> userContext = ExcelReadContext.<User>builder()
+                .clazz(User.class)
+                .build();
+        final ExcelReadContext<Id> idContext = ExcelReadContext.<Id>builder()
+                .clazz(Id.class)
+                .sheetIndex(1)
+                .build();
+        final ImportDomain<User> expectedUsers;
+        final ImportDomain<Id> expectedIds;
+        try (ExcelReader reader = EasyExcel.read(new ByteArrayInputStream(bytes))) {
+            expectedUsers = reader.resolve(userContext);
+            expectedIds = reader.resolve(idContext);
+        }
+        try (ExcelReader reader = new XlsStreamExcelReader(new ByteArrayInputStream(bytes))) {
+            final ImportDomain<User> users = reader.resolve(userContext);
+            assertThat(users.getData())
+                    .hasSize(COUNT)
+                    .extracting(User::toString)
+                    .containsExactlyElementsOf(expectedUsers.getData().stream().map(User::toString).collect(Collectors.toList()));
+            assertThat(users.getColumnInfoMap()).isEqualTo(expectedUsers.getColumnInfoMap());
+
+            final ImportDomain<Id> ids = reader.resolve(idContext);
+            assertThat(ids.getData())
+                    .hasSize(COUNT)
+                    .extracting(Id::getId)
+                    .containsExactlyElementsOf(expectedIds.getData().stream().map(Id::getId).collect(Collectors.toList()));
+            assertThat(ids.getErrors()).hasSameSizeAs(expectedIds.getErrors());
+        }
+    }
+
+    @Test
+    void stream() {
+        try (ExcelReader reader = new XlsStreamExcelReader(new ByteArrayInputStream(bytes));
+             Stream<Id> stream = reader.stream(ExcelReadContext.<Id>builder()
+                     .clazz(Id.class)
+                     .sheetIndex(1)
+                     .build(), error -> {
+             })) {
+            assertThat(stream.limit(10).map(Id::getId).collect(Collectors.toList()))
+                    .containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+        }
+    }
+
+    @Test
+    void resolveBatch() {
+        final List<Integer> batchSizes = new ArrayList<>();
+        try (ExcelReader reader = new XlsStreamExcelReader(new ByteArrayInputStream(bytes))) {
+            reader.resolve(ExcelReadContext.<User>builder()
+                    .clazz(User.class)
+                    .build(), 300, batch -> batchSizes.add(batch.getData().size()));
+        }
+        assertThat(batchSizes).containsExactly(300, 300, 300, 100);
+    }
+}
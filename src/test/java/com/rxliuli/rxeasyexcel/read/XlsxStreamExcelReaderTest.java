@@ -0,0 +1,164 @@
+package com.rxliuli.rxeasyexcel.read;
+
+import com.rxliuli.rxeasyexcel.EasyExcel;
+import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
+import com.rxliuli.rxeasyexcel.domain.ExcelReadContext;
+import com.rxliuli.rxeasyexcel.domain.ImportDomain;
+import com.rxliuli.rxeasyexcel.model.Id;
+import com.rxliuli.rxeasyexcel.model.User;
+import com.rxliuli.rxeasyexcel.model.UserWithAnnotation;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author rxliuli
+ */
+class XlsxStreamExcelReaderTest {
+
+    private static InputStream getResource(String name) {
+        return XlsxStreamExcelReaderTest.class.getClassLoader().getResourceAsStream(name);
+    }
+
+    @Test
+    void resolve() {
+        try (ExcelReader reader = EasyExcel.streamRead(getResource("user.xlsx"))) {
+            final List<User> result = reader.resolve(ExcelReadContext.<User>builder()
+                    .clazz(User.class)
+                    .build())
+                    .getData();
+            assertThat(result).hasSize(5);
+            assertThat(result.get(0).getPasswd()).isEqualTo("9277656f-b228-4d53-a35b-b6cffc26fc9e");
+            assertThat(result.get(1).getUsername()).isEqualTo("张三1");
+        }
+    }
+
+    @Test
+    void resolveEmpty() {
+        try (ExcelReader reader = EasyExcel.streamRead(getResource("userempty.xlsx"))) {
+            final List<User> result = reader.resolve(ExcelReadContext.<User>builder()
+                    .clazz(User.class)
+                    .build())
+                    .getData();
+            assertThat(result).isEmpty();
+        }
+    }
+
+    @Test
+    void resolveHeaderStart() {
+        try (ExcelReader reader = EasyExcel.streamRead(getResource("user3.xlsx"))) {
+            final ImportDomain<UserWithAnnotation> sheet1 = reader.resolve(ExcelReadContext.<UserWithAnnotation>builder()
+                    .clazz(UserWithAnnotation.class)
+                    .headerStart(1)
+                    .build());
+            assertThat(sheet1.getData()).hasSize(5);
+            assertThat(sheet1.getData().get(1).getUsername()).isEqualTo("张三1");
+
+            final ImportDomain<UserWithAnnotation> sheet2 = reader.resolve(ExcelReadContext.<UserWithAnnotation>builder()
+                    .clazz(UserWithAnnotation.class)
+                    .sheetIndex(1)
+                    .build());
+            assertThat(sheet2.getColumnInfoMap()).isNotEmpty();
+            assertThat(sheet2.getData()).hasSize(5);
+        }
+    }
+
+    /**
+     * 与 {@link DefaultExcelReader} 的结果保持一致
+     */
+    @Test
+    void sameAsDefaultExcelReader() {
+        final ExcelReadContext<Id> context = ExcelReadContext.<Id>builder()
+                .clazz(Id.class)
+                .build();
+        final ImportDomain<Id> expected;
+        try (ExcelReader reader = EasyExcel.read(getResource("ids.xlsx"))) {
+            expected = reader.resolve(context);
+        }
+        try (ExcelReader reader = EasyExcel.streamRead(getResource("ids.xlsx"))) {
+            final ImportDomain<Id> actual = reader.resolve(context);
+            assertThat(actual.getData())
+                    .hasSize(1332)
+                    .extracting(Id::getId)
+                    .containsExactlyElementsOf(expected.getData().stream().map(Id::getId).collect(Collectors.toList()));
+            assertThat(actual.getErrors()).hasSameSizeAs(expected.getErrors());
+            assertThat(actual.getColumnInfoMap()).isEqualTo(expected.getColumnInfoMap());
+        }
+    }
+
+    /**
+     * 直接从文件中读取，与从输入流中读取的结果一致
+     */
+    @Test
+    void readPath() throws URISyntaxException {
+        final Path path = Paths.get(XlsxStreamExcelReaderTest.class.getClassLoader().getResource("ids.xlsx").toURI());
+        final ExcelReadContext<Id> context = ExcelReadContext.<Id>builder()
+                .clazz(Id.class)
+                .build();
+        try (ExcelReader reader = EasyExcel.streamRead(path)) {
+            assertThat(reader).isInstanceOf(XlsxStreamExcelReader.class);
+            assertThat(reader.resolve(context).getData()).hasSize(1332);
+        }
+        try (ExcelReader reader = EasyExcel.read(path)) {
+            assertThat(reader.resolve(context).getData()).hasSize(1332);
+        }
+    }
+
+    @Test
+    void stream() {
+        final List<ExcelImportError> errors = new ArrayList<>();
+        try (ExcelReader reader = EasyExcel.streamRead(getResource("ids.xlsx"));
+             Stream<Id> stream = reader.stream(ExcelReadContext.<Id>builder()
+                     .clazz(Id.class)
+                     .build(), errors::add)) {
+            assertThat(stream.count())
+                    .isEqualTo(1332);
+        }
+        assertThat(errors).isEmpty();
+    }
+
+    /**
+     * 未读取完就关闭流
+     */
+    @Test
+    void streamCloseEarly() {
+        try (ExcelReader reader = EasyExcel.streamRead(getResource("ids.xlsx"))) {
+            try (Stream<Id> stream = reader.stream(ExcelReadContext.<Id>builder()
+                    .clazz(Id.class)
+                    .build(), error -> {
+            })) {
+                assertThat(stream.limit(10).collect(Collectors.toList()))
+                        .hasSize(10);
+            }
+            // 关闭后仍然可以再次读取
+            assertThat(reader.resolve(ExcelReadContext.<Id>builder()
+                    .clazz(Id.class)
+                    .build())
+                    .getData())
+                    .hasSize(1332);
+        }
+    }
+
+    @Test
+    void resolveBatch() {
+        final List<Integer> batchSizes = new ArrayList<>();
+        try (ExcelReader reader = EasyExcel.streamRead(getResource("ids.xlsx"))) {
+            reader.resolve(ExcelReadContext.<Id>builder()
+                    .clazz(Id.class)
+                    .build(), 500, batch -> {
+                assertThat(batch.getColumnInfoMap()).containsKey("id");
+                batchSizes.add(batch.getData().size());
+            });
+        }
+        assertThat(batchSizes).containsExactly(500, 500, 332);
+    }
+}
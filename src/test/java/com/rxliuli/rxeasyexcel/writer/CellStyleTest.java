@@ -0,0 +1,84 @@
+package com.rxliuli.rxeasyexcel.writer;
+
+import com.rxliuli.rxeasyexcel.EasyExcel;
+import com.rxliuli.rxeasyexcel.annotation.ExcelField;
+import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
+import com.rxliuli.rxeasyexcel.domain.ExcelWriteContext;
+import com.rxliuli.rxeasyexcel.model.User;
+import com.rxliuli.rxeasyexcel.write.ExcelWriter;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author rxliuli
+ */
+class CellStyleTest {
+
+    private static Workbook export(ExcelWriteContext... contexts) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ExcelWriter writer = EasyExcel.export(out);
+        for (ExcelWriteContext context : contexts) {
+            writer.export(context);
+        }
+        writer.write();
+        return WorkbookFactory.create(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    /**
+     * 大量的错误单元格与多张表共用同一个样式
+     */
+    @Test
+    void reuseStyles() throws Exception {
+        final List<User> users = IntStream.range(0, 1000)
+                .mapToObj(i -> new User("张三" + i, "passwd" + i))
+                .collect(Collectors.toList());
+        final List<ExcelImportError> errors = IntStream.range(1, 1001)
+                .mapToObj(i -> new ExcelImportError(i, 1, "passwd", "error" + i, null, "密码错误"))
+                .collect(Collectors.toList());
+        final int before = new XSSFWorkbook().getNumCellStyles();
+        final Workbook workbook = export(
+                ExcelWriteContext.builder().datasource(users).sheetName("1").errors(errors).build(),
+                ExcelWriteContext.builder().datasource(users).sheetName("2").errors(errors).build()
+        );
+        // 表头样式与错误样式各一个
+        assertThat(workbook.getNumCellStyles()).isEqualTo(before + 2);
+        final Sheet sheet = workbook.getSheet("2");
+        assertThat(sheet.getRow(1).getCell(1).getCellStyle().getIndex())
+                .isEqualTo(workbook.getSheet("1").getRow(1000).getCell(1).getCellStyle().getIndex());
+    }
+
+    @Test
+    void annotationStyle() throws Exception {
+        final Workbook workbook = export(ExcelWriteContext.builder()
+                .datasource(Arrays.asList(new Price("1.5"), new Price("2")))
+                .build());
+        final Sheet sheet = workbook.getSheetAt(0);
+        assertThat(sheet.getRow(1).getCell(0).getCellStyle().getDataFormatString()).isEqualTo("0.00");
+        assertThat(sheet.getRow(2).getCell(0).getCellStyle().getFillForegroundColor())
+                .isEqualTo(IndexedColors.LIGHT_YELLOW.getIndex());
+        assertThat(sheet.getRow(2).getCell(0).getCellStyle().getIndex())
+                .isEqualTo(sheet.getRow(1).getCell(0).getCellStyle().getIndex());
+    }
+
+    public static class Price {
+        @ExcelField(columnName = "价格", dataFormat = "0.00", fillColor = IndexedColors.LIGHT_YELLOW)
+        private String price;
+
+        public Price(String price) {
+            this.price = price;
+        }
+    }
+}
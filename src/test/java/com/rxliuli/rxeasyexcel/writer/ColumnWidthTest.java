@@ -0,0 +1,59 @@
+package com.rxliuli.rxeasyexcel.writer;
+
+import com.rxliuli.rxeasyexcel.EasyExcel;
+import com.rxliuli.rxeasyexcel.domain.ColumnWidthStrategy;
+import com.rxliuli.rxeasyexcel.domain.ExcelWriteContext;
+import com.rxliuli.rxeasyexcel.model.User;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author rxliuli
+ */
+class ColumnWidthTest {
+
+    private static Sheet export(ExcelWriteContext context) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EasyExcel.export(out)
+                .export(context)
+                .write();
+        final Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(out.toByteArray()));
+        return workbook.getSheetAt(0);
+    }
+
+    @Test
+    void estimate() throws Exception {
+        final Sheet sheet = export(ExcelWriteContext.builder()
+                .datasource(Arrays.asList(new User("张三", "1"), new User("李四", "12345678901234567890")))
+                .build());
+        // 用户名列: 表头与数据均较短；密码列: 以最长的数据为准
+        assertThat(sheet.getColumnWidth(1)).isEqualTo((20 + 2) * 256);
+        assertThat(sheet.getColumnWidth(0)).isLessThan(sheet.getColumnWidth(1));
+    }
+
+    @Test
+    void estimateOnlySampleRows() throws Exception {
+        final Sheet sheet = export(ExcelWriteContext.builder()
+                .datasource(Arrays.asList(new User("张三", "1"), new User("李四", "12345678901234567890")))
+                .columnWidth(1)
+                .build());
+        assertThat(sheet.getColumnWidth(1)).isLessThan((20 + 2) * 256);
+    }
+
+    @Test
+    void none() throws Exception {
+        final Sheet sheet = export(ExcelWriteContext.builder()
+                .datasource(Arrays.asList(new User("张三", "12345678901234567890")))
+                .columnWidth(ColumnWidthStrategy.NONE)
+                .build());
+        assertThat(sheet.getColumnWidth(1)).isEqualTo(sheet.getDefaultColumnWidth() * 256);
+    }
+}
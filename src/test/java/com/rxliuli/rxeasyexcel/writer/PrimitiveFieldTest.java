@@ -0,0 +1,85 @@
+package com.rxliuli.rxeasyexcel.writer;
+
+import com.rxliuli.rxeasyexcel.EasyExcel;
+import com.rxliuli.rxeasyexcel.annotation.ExcelField;
+import com.rxliuli.rxeasyexcel.domain.ExcelReadContext;
+import com.rxliuli.rxeasyexcel.domain.ExcelWriteContext;
+import com.rxliuli.rxeasyexcel.read.ExcelReader;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 基本类型的字段不装箱读写，结果与包装类型一致
+ *
+ * @author rxliuli
+ */
+class PrimitiveFieldTest {
+
+    @Test
+    void exportAndImport() throws Exception {
+        final int count = 300;
+        final List<Primitive> list = IntStream.range(0, count)
+                .mapToObj(i -> new Primitive(i, i == count - 1 ? 1234567890123456789L : i * 1000L, i == count - 1 ? Double.NaN : i + 0.5))
+                .collect(Collectors.toList());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EasyExcel.export(out)
+                .export(ExcelWriteContext.builder()
+                        .datasource(list)
+                        .columnWidth(10)
+                        .build())
+                .write();
+        final byte[] bytes = out.toByteArray();
+
+        final Sheet sheet = WorkbookFactory.create(new ByteArrayInputStream(bytes)).getSheetAt(0);
+        final Row row = sheet.getRow(200);
+        assertThat(row.getCell(0).getNumericCellValue()).isEqualTo(199);
+        assertThat(row.getCell(1).getNumericCellValue()).isEqualTo(199000);
+        assertThat(row.getCell(2).getNumericCellValue()).isEqualTo(199.5);
+        // 无法写入为数字的值与包装类型一样写入为文本
+        final Row last = sheet.getRow(count);
+        assertThat(last.getCell(1).getCellTypeEnum()).isEqualTo(CellType.STRING);
+        assertThat(last.getCell(2).getStringCellValue()).isEqualTo("NaN");
+
+        try (ExcelReader reader = EasyExcel.read(new ByteArrayInputStream(bytes))) {
+            final List<Primitive> data = reader.resolve(ExcelReadContext.<Primitive>builder()
+                    .clazz(Primitive.class)
+                    .build())
+                    .getData();
+            assertThat(data).hasSize(count);
+            assertThat(data.get(199).age).isEqualTo(199);
+            assertThat(data.get(199).id).isEqualTo(199000L);
+            assertThat(data.get(199).rate).isEqualTo(199.5);
+            assertThat(data.get(count - 1).id).isEqualTo(1234567890123456789L);
+            assertThat(data.get(count - 1).rate).isNaN();
+        }
+    }
+
+    public static class Primitive {
+        @ExcelField(order = 1)
+        private int age;
+        @ExcelField(order = 2)
+        private long id;
+        @ExcelField(order = 3)
+        private double rate;
+
+        public Primitive() {
+        }
+
+        Primitive(int age, long id, double rate) {
+            this.age = age;
+            this.id = id;
+            this.rate = rate;
+        }
+    }
+}
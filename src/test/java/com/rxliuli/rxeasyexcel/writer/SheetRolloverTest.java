@@ -0,0 +1,142 @@
+package com.rxliuli.rxeasyexcel.writer;
+
+import com.rxliuli.rxeasyexcel.EasyExcel;
+import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
+import com.rxliuli.rxeasyexcel.domain.ExcelType;
+import com.rxliuli.rxeasyexcel.domain.ExcelWriteContext;
+import com.rxliuli.rxeasyexcel.domain.ExcelWritePolicy;
+import com.rxliuli.rxeasyexcel.model.SelectTest;
+import com.rxliuli.rxeasyexcel.model.User;
+import com.rxliuli.rxeasyexcel.write.ExcelWriter;
+import org.apache.poi.ss.usermodel.DataValidation;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author rxliuli
+ */
+class SheetRolloverTest {
+
+    private static List<User> users(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new User("张三" + i, String.valueOf(i)))
+                .collect(Collectors.toList());
+    }
+
+    private static Workbook export(ExcelType type, ExcelWriteContext context) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EasyExcel.export(type, out)
+                .export(context)
+                .write();
+        return WorkbookFactory.create(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    void rollover() throws Exception {
+        final Workbook workbook = export(ExcelType.XLSX, ExcelWriteContext.builder()
+                .datasource(users(250).iterator())
+                .sheetName("user")
+                .maxRowsPerSheet(101)
+                .build());
+        assertThat(workbook.getNumberOfSheets()).isEqualTo(3);
+        assertThat(workbook.getSheetName(1)).isEqualTo("user_2");
+        assertThat(workbook.getSheetName(2)).isEqualTo("user_3");
+        for (int i = 0; i < 3; i++) {
+            final Sheet sheet = workbook.getSheetAt(i);
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("username");
+            assertThat(sheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo("张三" + i * 100);
+        }
+        assertThat(workbook.getSheetAt(2).getLastRowNum()).isEqualTo(50);
+    }
+
+    /**
+     * 错误的行号按照所有数据写在一张表中计算
+     */
+    @Test
+    void rolloverErrors() throws Exception {
+        final Workbook workbook = export(ExcelType.XLSX, ExcelWriteContext.builder()
+                .datasource(users(25))
+                .maxRowsPerSheet(11)
+                .continuationSheetName((name, index) -> name + "(" + index + ")")
+                .sheetName("user")
+                .errors(Collections.singletonList(new ExcelImportError(15, 1, "passwd", "error", null, "错误的密码")))
+                .build());
+        assertThat(workbook.getSheetName(1)).isEqualTo("user(2)");
+        final Sheet sheet = workbook.getSheetAt(1);
+        assertThat(sheet.getRow(5).getCell(1).getStringCellValue()).isEqualTo("error");
+        assertThat(sheet.getRow(5).getCell(1).getCellComment()).isNotNull();
+    }
+
+    /**
+     * 下拉框作用于续表中所有可能的数据行
+     */
+    @Test
+    void rolloverSelect() throws Exception {
+        final Workbook workbook = export(ExcelType.XLSX, ExcelWriteContext.builder()
+                .datasource(Collections.nCopies(150, new SelectTest().setSelectVal(1)))
+                .maxRowsPerSheet(101)
+                .build());
+        assertThat(workbook.getNumberOfSheets()).isEqualTo(2);
+        for (int i = 0; i < 2; i++) {
+            final List<? extends DataValidation> validations = workbook.getSheetAt(i).getDataValidations();
+            assertThat(validations).hasSize(1);
+            final CellRangeAddress region = validations.get(0).getRegions().getCellRangeAddress(0);
+            assertThat(region.getFirstRow()).isEqualTo(1);
+            assertThat(region.getLastRow()).isEqualTo(100);
+        }
+    }
+
+    @Test
+    void rolloverAtFormatLimit() throws Exception {
+        final int maxRows = ExcelType.XLS.getMaxRows();
+        final Workbook workbook = export(ExcelType.XLS, ExcelWriteContext.builder()
+                .datasource(users(maxRows + 10))
+                .build());
+        assertThat(workbook.getNumberOfSheets()).isEqualTo(2);
+        assertThat(workbook.getSheetAt(0).getLastRowNum()).isEqualTo(maxRows - 1);
+        assertThat(workbook.getSheetAt(1).getLastRowNum()).isEqualTo(11);
+    }
+
+    /**
+     * 并发写入时续表在写入线程中创建，完成后仍然紧跟在原表之后
+     */
+    @Test
+    void rolloverConcurrentSheets() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            final ExcelWriter writer = EasyExcel.export(ExcelType.XLSX, out, ExcelWritePolicy.builder()
+                    .concurrentSheets(executor)
+                    .build());
+            for (String sheetName : new String[]{"a", "b"}) {
+                writer.export(ExcelWriteContext.builder()
+                        .datasource(users(250).iterator())
+                        .sheetName(sheetName)
+                        .maxRowsPerSheet(101)
+                        .build());
+            }
+            writer.write();
+        } finally {
+            executor.shutdown();
+        }
+        final Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(IntStream.range(0, workbook.getNumberOfSheets()).mapToObj(workbook::getSheetName))
+                .containsExactly("a", "a_2", "a_3", "b", "b_2", "b_3");
+        assertThat(workbook.getSheetAt(1).getRow(1).getCell(0).getStringCellValue()).isEqualTo("张三100");
+        assertThat(workbook.getSheetAt(4).getRow(1).getCell(0).getStringCellValue()).isEqualTo("张三100");
+    }
+}
@@ -0,0 +1,118 @@
+package com.rxliuli.rxeasyexcel.writer;
+
+import com.rxliuli.rxeasyexcel.EasyExcel;
+import com.rxliuli.rxeasyexcel.ExcelException;
+import com.rxliuli.rxeasyexcel.domain.ExcelCellStyle;
+import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
+import com.rxliuli.rxeasyexcel.domain.ExcelReadContext;
+import com.rxliuli.rxeasyexcel.domain.ExcelWriteContext;
+import com.rxliuli.rxeasyexcel.model.Person;
+import com.rxliuli.rxeasyexcel.model.User;
+import com.rxliuli.rxeasyexcel.read.ExcelReader;
+import com.rxliuli.rxeasyexcel.write.ExcelWriter;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author rxliuli
+ */
+class SpreadsheetMLExcelWriterTest {
+
+    private static <T> List<String> read(byte[] bytes, Class<T> clazz, int sheetIndex) {
+        try (ExcelReader reader = EasyExcel.read(new ByteArrayInputStream(bytes))) {
+            return reader.resolve(ExcelReadContext.<T>builder()
+                    .clazz(clazz)
+                    .sheetIndex(sheetIndex)
+                    .build())
+                    .getData()
+                    .stream()
+                    .map(SpreadsheetMLExcelWriterTest::describe)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static String describe(Object data) {
+        return ToStringBuilder.reflectionToString(data, ToStringStyle.SHORT_PREFIX_STYLE);
+    }
+
+    /**
+     * 与 {@link com.rxliuli.rxeasyexcel.write.DefaultExcelWriter} 导出的数据一致
+     */
+    @Test
+    void sameAsDefaultExcelWriter() {
+        final List<Person> persons = IntStream.range(0, 1000)
+                .mapToObj(i -> new Person("<张三&" + i + ">", LocalDateTime.now().withNano(0), new Date(), LocalDate.now(), LocalTime.now().withNano(0)))
+                .collect(Collectors.toList());
+        final List<ExcelSelectTest.Person> selects = IntStream.range(0, 10)
+                .mapToObj(i -> new ExcelSelectTest.Person("李四" + i, new Date(), LocalDate.now(), LocalTime.now()).setGender(i % 3 + 1))
+                .collect(Collectors.toList());
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        EasyExcel.export(expected)
+                .export(ExcelWriteContext.builder().datasource(persons).build())
+                .export(ExcelWriteContext.builder().datasource(selects).build())
+                .write();
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        EasyExcel.streamExport(actual)
+                .export(ExcelWriteContext.builder().datasource(persons.iterator()).sheetName("person").build())
+                .export(ExcelWriteContext.builder().datasource(selects).build())
+                .write();
+
+        assertThat(read(actual.toByteArray(), Person.class, 0))
+                .hasSize(1000)
+                .containsExactlyElementsOf(read(expected.toByteArray(), Person.class, 0));
+        assertThat(read(actual.toByteArray(), ExcelSelectTest.Person.class, 1))
+                .containsExactlyElementsOf(read(expected.toByteArray(), ExcelSelectTest.Person.class, 1));
+    }
+
+    @Test
+    void styles() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EasyExcel.streamExport(out)
+                .export(ExcelWriteContext.builder()
+                        .datasource(Collections.singletonList(new User("张三", "123")))
+                        .errors(Collections.singletonList(new ExcelImportError(1, 1, "passwd", "错误的密码", null, "密码错误")))
+                        .build())
+                .write();
+        final Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(out.toByteArray()));
+        final Sheet sheet = workbook.getSheetAt(0);
+        assertThat(workbook.getFontAt(sheet.getRow(0).getCell(0).getCellStyle().getFontIndex()).getBold()).isTrue();
+        final CellStyle errorStyle = sheet.getRow(1).getCell(1).getCellStyle();
+        assertThat(sheet.getRow(1).getCell(1).getStringCellValue()).isEqualTo("错误的密码");
+        assertThat(errorStyle.getFillPatternEnum()).isEqualTo(ExcelCellStyle.ERROR.getFillPattern());
+        assertThat(errorStyle.getFillForegroundColor()).isEqualTo(ExcelCellStyle.ERROR.getFillForegroundColor().getIndex());
+        assertThat(sheet.getDataValidations()).hasSize(1);
+    }
+
+    /**
+     * 不支持续表，超过每张表的最大行数时抛出异常而不是写出无效的文件
+     */
+    @Test
+    void exceedMaxRows() {
+        final ExcelWriter writer = EasyExcel.streamExport(new ByteArrayOutputStream());
+        assertThatThrownBy(() -> writer.export(ExcelWriteContext.builder()
+                .datasource(IntStream.range(0, 11).mapToObj(i -> new User("张三" + i, "123")).iterator())
+                .maxRowsPerSheet(11)
+                .build()))
+                .isInstanceOf(ExcelException.class)
+                .hasMessageContaining("11");
+    }
+}
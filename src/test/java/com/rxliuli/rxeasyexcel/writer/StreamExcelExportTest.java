@@ -0,0 +1,247 @@
+package com.rxliuli.rxeasyexcel.writer;
+
+import com.rxliuli.rxeasyexcel.EasyExcel;
+import com.rxliuli.rxeasyexcel.ExcelException;
+import com.rxliuli.rxeasyexcel.domain.ExcelImportError;
+import com.rxliuli.rxeasyexcel.domain.ExcelReadContext;
+import com.rxliuli.rxeasyexcel.domain.ExcelType;
+import com.rxliuli.rxeasyexcel.domain.ExcelWriteContext;
+import com.rxliuli.rxeasyexcel.domain.ExcelWritePolicy;
+import com.rxliuli.rxeasyexcel.domain.TempFileQuota;
+import com.rxliuli.rxeasyexcel.model.User;
+import com.rxliuli.rxeasyexcel.read.ExcelReader;
+import com.rxliuli.rxeasyexcel.write.ExcelWriter;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author rxliuli
+ */
+class StreamExcelExportTest {
+
+    private static List<User> readUsers(byte[] bytes) {
+        try (ExcelReader reader = EasyExcel.read(new ByteArrayInputStream(bytes))) {
+            return reader.resolve(ExcelReadContext.<User>builder()
+                    .clazz(User.class)
+                    .build())
+                    .getData();
+        }
+    }
+
+    private static void assertEmptyDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void exportStream() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Stream<User> users = IntStream.range(0, 5000).mapToObj(i -> new User("张三" + i, "passwd" + i))) {
+            EasyExcel.export(out)
+                    .export(ExcelWriteContext.builder()
+                            .datasource(users)
+                            .sheetName("user")
+                            .build())
+                    .write();
+        }
+        final List<User> result = readUsers(out.toByteArray());
+        assertThat(result).hasSize(5000);
+        assertThat(result.get(4999).getUsername()).isEqualTo("张三4999");
+    }
+
+    @Test
+    void exportPage() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EasyExcel.export(out)
+                .export(ExcelWriteContext.builder()
+                        .pageDatasource(pageNum -> pageNum > 3
+                                ? Collections.<User>emptyList()
+                                : IntStream.range(0, 100)
+                                .mapToObj(i -> new User(pageNum + "-" + i, "passwd"))
+                                .collect(Collectors.toList()))
+                        .sheetName("user")
+                        .build())
+                .write();
+        final List<User> result = readUsers(out.toByteArray());
+        assertThat(result).hasSize(300);
+        assertThat(result.get(0).getUsername()).isEqualTo("1-0");
+        assertThat(result.get(299).getUsername()).isEqualTo("3-99");
+    }
+
+    @Test
+    void exportPrefetchPage() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EasyExcel.export(out)
+                .export(ExcelWriteContext.builder()
+                        .pageDatasource(pageNum -> pageNum > 3
+                                ? Collections.<User>emptyList()
+                                : IntStream.range(0, 100)
+                                .mapToObj(i -> new User(pageNum + "-" + i, "passwd"))
+                                .collect(Collectors.toList()), 2)
+                        .sheetName("user")
+                        .build())
+                .write();
+        final List<User> result = readUsers(out.toByteArray());
+        assertThat(result).hasSize(300);
+        assertThat(result.get(0).getUsername()).isEqualTo("1-0");
+        assertThat(result.get(299).getUsername()).isEqualTo("3-99");
+    }
+
+    /**
+     * 空的迭代器应该导出空表
+     */
+    @Test
+    void exportEmptyIterator() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EasyExcel.export(out)
+                .export(ExcelWriteContext.builder()
+                        .datasource(Collections.<User>emptyIterator())
+                        .sheetName("user")
+                        .build())
+                .write();
+        assertThat(out.toByteArray()).isNotEmpty();
+    }
+
+    @Test
+    void policy() {
+        assertThat(ExcelType.XLSX.workbook(10)).isNotInstanceOf(SXSSFWorkbook.class);
+        assertThat(ExcelType.XLSX.workbook(10, ExcelWritePolicy.builder().streamingThreshold(0).build()))
+                .isInstanceOf(SXSSFWorkbook.class);
+        assertThat(ExcelType.XLSX.workbook(Integer.MAX_VALUE, ExcelWritePolicy.builder().streamingThreshold(Integer.MAX_VALUE).build()))
+                .isNotInstanceOf(SXSSFWorkbook.class);
+    }
+
+    /**
+     * 压缩的临时文件写到指定的目录中，写入完成后删除
+     */
+    @Test
+    void exportWithPolicy() throws IOException {
+        final Path tempDirectory = Files.createTempDirectory("StreamExcelExportTest").resolve("sxssf");
+        final TempFileQuota quota = new TempFileQuota(Long.MAX_VALUE);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Stream<User> users = IntStream.range(0, 500).mapToObj(i -> new User("张三" + i, "passwd"))) {
+            EasyExcel.export(ExcelType.XLSX, out, ExcelWritePolicy.builder()
+                    .rowAccessWindowSize(10)
+                    .compressTempFiles(true)
+                    .useSharedStringsTable(true)
+                    .tempDirectory(tempDirectory.toFile())
+                    .tempFileQuota(quota)
+                    .build())
+                    .export(ExcelWriteContext.builder()
+                            .datasource(users)
+                            .sheetName("user")
+                            .build())
+                    .write();
+        }
+        assertEmptyDirectory(tempDirectory);
+        assertThat(quota.getFilesCreated()).isEqualTo(1);
+        assertThat(quota.getBytesWritten()).isPositive();
+        assertThat(quota.getBytesInUse()).isZero();
+        final List<User> result = readUsers(out.toByteArray());
+        assertThat(result).hasSize(500);
+        assertThat(result.get(499).getUsername()).isEqualTo("张三499");
+    }
+
+    /**
+     * 超过磁盘配额时导出失败，并且删除已经写入的临时文件
+     */
+    @Test
+    void exportExceedQuota() throws IOException {
+        final Path tempDirectory = Files.createTempDirectory("StreamExcelExportTest");
+        final TempFileQuota quota = new TempFileQuota(16 * 1024);
+        final ExcelWriter writer = EasyExcel.export(ExcelType.XLSX, new ByteArrayOutputStream(), ExcelWritePolicy.builder()
+                .rowAccessWindowSize(10)
+                .tempDirectory(tempDirectory.toFile())
+                .tempFileQuota(quota)
+                .build());
+        assertThatThrownBy(() -> writer.export(ExcelWriteContext.builder()
+                .datasource(IntStream.range(0, 5000).mapToObj(i -> new User("张三" + i, "passwd")).iterator())
+                .build()))
+                .isInstanceOf(ExcelException.class);
+        assertEmptyDirectory(tempDirectory);
+        assertThat(quota.getBytesInUse()).isZero();
+    }
+
+    /**
+     * 并发写入多张表，结果与逐张写入一致
+     */
+    @Test
+    void exportConcurrentSheets() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            final ExcelWriter writer = EasyExcel.export(ExcelType.XLSX, out, ExcelWritePolicy.builder()
+                    .concurrentSheets(executor)
+                    .build());
+            for (int sheet = 0; sheet < 4; sheet++) {
+                final int sheetIndex = sheet;
+                writer.export(ExcelWriteContext.builder()
+                        .datasource(IntStream.range(0, 2000).mapToObj(i -> new User(sheetIndex + "-" + i, "passwd")).iterator())
+                        .sheetName("user" + sheet)
+                        .build());
+            }
+            writer.write();
+        } finally {
+            executor.shutdown();
+        }
+        try (ExcelReader reader = EasyExcel.read(new ByteArrayInputStream(out.toByteArray()))) {
+            for (int sheet = 0; sheet < 4; sheet++) {
+                final List<User> users = reader.resolve(ExcelReadContext.<User>builder()
+                        .clazz(User.class)
+                        .sheetIndex(sheet)
+                        .build())
+                        .getData();
+                assertThat(users).hasSize(2000);
+                assertThat(users.get(1999).getUsername()).isEqualTo(sheet + "-1999");
+            }
+        }
+    }
+
+    /**
+     * 流式写入时错误在写入对应的行时写入，已经刷新到临时文件的行同样可以标记错误
+     */
+    @Test
+    void exportErrors() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EasyExcel.export(ExcelType.XLSX, out, ExcelWritePolicy.builder()
+                .rowAccessWindowSize(10)
+                .build())
+                .export(ExcelWriteContext.builder()
+                        .datasource(IntStream.range(0, 5000).mapToObj(i -> new User("张三" + i, "passwd" + i)).iterator())
+                        .errors(Arrays.asList(
+                                new ExcelImportError(1, 0, "username", "error1", null, "错误的用户名"),
+                                new ExcelImportError(4000, 1, "passwd", "error4000", null, null)))
+                        .build())
+                .write();
+        try (Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(out.toByteArray()))) {
+            final Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo("error1");
+            assertThat(sheet.getRow(1).getCell(0).getCellComment().getString().getString()).isEqualTo("错误的用户名");
+            assertThat(sheet.getRow(4000).getCell(1).getStringCellValue()).isEqualTo("error4000");
+            assertThat(sheet.getRow(4000).getCell(1).getCellStyle().getFillPatternEnum()).isEqualTo(FillPatternType.BIG_SPOTS);
+            assertThat(sheet.getRow(4000).getCell(0).getStringCellValue()).isEqualTo("张三3999");
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.rxliuli.rxeasyexcel.writer;
+
+import com.rxliuli.rxeasyexcel.EasyExcel;
+import com.rxliuli.rxeasyexcel.annotation.ExcelField;
+import com.rxliuli.rxeasyexcel.domain.ExcelReadContext;
+import com.rxliuli.rxeasyexcel.domain.ExcelWriteContext;
+import com.rxliuli.rxeasyexcel.domain.convert.BigDecimalConverter;
+import com.rxliuli.rxeasyexcel.domain.convert.ExcelCellType;
+import com.rxliuli.rxeasyexcel.domain.convert.IConverter;
+import com.rxliuli.rxeasyexcel.read.ExcelReader;
+import com.rxliuli.rxeasyexcel.write.ExcelWriter;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author rxliuli
+ */
+class TypedCellExportTest {
+
+    private static void assertTypedCells(Function<ByteArrayOutputStream, ExcelWriter> writerFactory) throws Exception {
+        final Date date = new Date(1544500000000L);
+        final LocalDateTime dateTime = LocalDateTime.of(2018, 12, 11, 8, 30, 5);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writerFactory.apply(out)
+                .export(ExcelWriteContext.builder()
+                        .datasource(Collections.singletonList(new Typed(17, 1234567890123456789L, 0.1, true, date, new BigDecimal("12.50"), "3.25", "2018-12-11 08:30", dateTime)))
+                        .build())
+                .write();
+        final byte[] bytes = out.toByteArray();
+
+        final Row row = WorkbookFactory.create(new ByteArrayInputStream(bytes)).getSheetAt(0).getRow(1);
+        assertThat(row.getCell(0).getCellTypeEnum()).isEqualTo(CellType.NUMERIC);
+        assertThat(row.getCell(0).getNumericCellValue()).isEqualTo(17);
+        // 超过 15 位的数字写入为文本
+        assertThat(row.getCell(1).getCellTypeEnum()).isEqualTo(CellType.STRING);
+        assertThat(row.getCell(2).getNumericCellValue()).isEqualTo(0.1);
+        assertThat(row.getCell(3).getCellTypeEnum()).isEqualTo(CellType.BOOLEAN);
+        assertThat(DateUtil.isCellDateFormatted(row.getCell(4))).isTrue();
+        assertThat(row.getCell(4).getDateCellValue()).isEqualTo(date);
+        assertThat(row.getCell(5).getNumericCellValue()).isEqualTo(12.5);
+        // 只声明了单元格类型的转换器
+        assertThat(row.getCell(6).getCellTypeEnum()).isEqualTo(CellType.NUMERIC);
+        assertThat(row.getCell(6).getNumericCellValue()).isEqualTo(3.25);
+        assertThat(DateUtil.isCellDateFormatted(row.getCell(7))).isTrue();
+        assertThat(row.getCell(7).getDateCellValue())
+                .isEqualTo(Date.from(LocalDateTime.of(2018, 12, 11, 8, 30).atZone(ZoneId.systemDefault()).toInstant()));
+        assertThat(row.getCell(8).getCellTypeEnum()).isEqualTo(CellType.NUMERIC);
+        assertThat(DateUtil.isCellDateFormatted(row.getCell(8))).isTrue();
+
+        try (ExcelReader reader = EasyExcel.read(new ByteArrayInputStream(bytes))) {
+            final List<Typed> data = reader.resolve(ExcelReadContext.<Typed>builder()
+                    .clazz(Typed.class)
+                    .build())
+                    .getData();
+            assertThat(data).hasSize(1);
+            assertThat(data.get(0).id).isEqualTo(1234567890123456789L);
+            assertThat(data.get(0).date).isEqualTo(date);
+            assertThat(data.get(0).price).isEqualByComparingTo("12.5");
+            assertThat(data.get(0).dateTime).isEqualTo(dateTime);
+        }
+    }
+
+    @Test
+    void defaultExcelWriter() throws Exception {
+        assertTypedCells(EasyExcel::export);
+    }
+
+    @Test
+    void spreadsheetMLExcelWriter() throws Exception {
+        assertTypedCells(EasyExcel::streamExport);
+    }
+
+    public static class Typed {
+        @ExcelField(order = 1)
+        private Integer age;
+        @ExcelField(order = 2)
+        private Long id;
+        @ExcelField(order = 3)
+        private Double rate;
+        @ExcelField(order = 4)
+        private Boolean enabled;
+        @ExcelField(order = 5)
+        private Date date;
+        @ExcelField(order = 6, converter = BigDecimalConverter.class)
+        private BigDecimal price;
+        @ExcelField(order = 7, converter = NumericTextConverter.class)
+        private String amount;
+        @ExcelField(order = 8, converter = DateTextConverter.class)
+        private String time;
+        @ExcelField(order = 9)
+        private LocalDateTime dateTime;
+
+        public Typed() {
+        }
+
+        Typed(Integer age, Long id, Double rate, Boolean enabled, Date date, BigDecimal price, String amount, String time, LocalDateTime dateTime) {
+            this.age = age;
+            this.id = id;
+            this.rate = rate;
+            this.enabled = enabled;
+            this.date = date;
+            this.price = price;
+            this.amount = amount;
+            this.time = time;
+            this.dateTime = dateTime;
+        }
+    }
+
+    /**
+     * 只声明为数字单元格，没有重写 {@link IConverter#toCellValue(Object)}
+     */
+    public static class NumericTextConverter implements IConverter<String> {
+        @Override
+        public String to(String s) {
+            return s;
+        }
+
+        @Override
+        public String from(String s) {
+            return s;
+        }
+
+        @Override
+        public ExcelCellType cellType() {
+            return ExcelCellType.NUMERIC;
+        }
+    }
+
+    /**
+     * 只声明为日期单元格，没有重写 {@link IConverter#toCellValue(Object)} 与 {@link IConverter#cellStyle()}
+     */
+    public static class DateTextConverter extends NumericTextConverter {
+        @Override
+        public ExcelCellType cellType() {
+            return ExcelCellType.DATE;
+        }
+    }
+}